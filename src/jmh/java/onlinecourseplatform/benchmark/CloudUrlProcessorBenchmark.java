@@ -0,0 +1,32 @@
+package onlinecourseplatform.benchmark;
+
+import onlinecourseplatform.service.CloudUrlProcessorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Share-link rewriting done before every content fetch, for each supported provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CloudUrlProcessorBenchmark {
+
+    @Param({
+            "https://drive.google.com/file/d/1aB2cD3eF4gH5iJ6kL7mN8oP9qR/view?usp=sharing",
+            "https://www.dropbox.com/s/q8w7e6r5t4y3/lecture.mp4?dl=0",
+            "https://cdn.example.com/courses/42/lecture.mp4"
+    })
+    private String url;
+
+    private final CloudUrlProcessorService processor = new CloudUrlProcessorService();
+
+    @Benchmark
+    public String getDirectDownloadUrl() {
+        return processor.getDirectDownloadUrl(url);
+    }
+}
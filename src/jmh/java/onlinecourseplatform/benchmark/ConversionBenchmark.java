@@ -0,0 +1,50 @@
+package onlinecourseplatform.benchmark;
+
+import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
+import onlinecourseplatform.dto.responseDTOs.CourseResponseDTO;
+import onlinecourseplatform.dto.projections.CourseSummaryView;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.service.CourseViewAssembler;
+import onlinecourseplatform.utility.Conversion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping for the course detail response, and the catalog entry CourseViewAssembler builds from
+ * projections (its queries answered in memory).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConversionBenchmark {
+
+    @Param({"20", "500"})
+    private int students;
+
+    private final Conversion conversion = new Conversion();
+    private Course course;
+    private CourseViewAssembler assembler;
+    private List<CourseSummaryView> summaries;
+
+    @Setup
+    public void setUp() {
+        course = CourseFixtures.course(1L, students);
+        assembler = CourseFixtures.catalogAssembler(List.of(course));
+        summaries = List.of(CourseFixtures.summary(course));
+    }
+
+    @Benchmark
+    public CourseResponseDTO toResponseDto() {
+        return conversion.toResponseDto(course);
+    }
+
+    @Benchmark
+    public List<BasicCourseDetailsResponse> toBasicCourseDetails() {
+        return assembler.toBasicCourseDetails(summaries);
+    }
+}
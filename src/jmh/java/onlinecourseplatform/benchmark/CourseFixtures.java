@@ -0,0 +1,139 @@
+package onlinecourseplatform.benchmark;
+
+import onlinecourseplatform.dto.projections.CourseCountView;
+import onlinecourseplatform.dto.projections.CourseSummaryView;
+import onlinecourseplatform.dto.projections.ModuleView;
+import onlinecourseplatform.entity.CloudProvider;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.CourseRatingSummary;
+import onlinecourseplatform.entity.Document;
+import onlinecourseplatform.entity.Enrollment;
+import onlinecourseplatform.entity.Feedback;
+import onlinecourseplatform.entity.Module;
+import onlinecourseplatform.entity.Status;
+import onlinecourseplatform.entity.Video;
+import onlinecourseplatform.repository.CourseRatingSummaryRepository;
+import onlinecourseplatform.repository.DocumentRepository;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.repository.FeedbackRepository;
+import onlinecourseplatform.repository.ModuleRepository;
+import onlinecourseplatform.repository.VideoRepository;
+import onlinecourseplatform.service.CourseViewAssembler;
+import onlinecourseplatform.utility.Conversion;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds detached course graphs shaped like production data: a handful of modules with videos and
+ * documents, feedback from a share of the students, and one enrollment per student.
+ */
+final class CourseFixtures {
+
+    static final int MODULES = 8;
+    static final int VIDEOS_PER_MODULE = 6;
+    static final int DOCUMENTS_PER_MODULE = 3;
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private CourseFixtures() {
+    }
+
+    /**
+     * A course with the given number of enrolled students, a fifth of whom left feedback.
+     */
+    static Course course(long courseId, int students) {
+        Course course = Course.builder()
+                .id(courseId)
+                .title("Spring Boot in Production " + courseId)
+                .description("Building, operating and tuning Spring Boot services: persistence, caching, security and observability.")
+                .instructorId(7L)
+                .price(new BigDecimal("1499.00"))
+                .createdAt(CREATED_AT)
+                .modules(new ArrayList<>())
+                .feedbackList(new ArrayList<>())
+                .enrollmentList(new ArrayList<>())
+                .build();
+
+        long contentId = courseId * 10_000;
+        for (int m = 0; m < MODULES; m++) {
+            Module module = Module.builder().id(courseId * 100 + m).moduleName("Module " + (m + 1) + ": Fundamentals")
+                    .course(course).videos(new ArrayList<>()).documents(new ArrayList<>()).build();
+            for (int v = 0; v < VIDEOS_PER_MODULE; v++) {
+                module.getVideos().add(Video.builder().id(contentId++)
+                        .URL("https://drive.google.com/file/d/1aB2cD3eF4gH5iJ6kL7mN8oP9qR" + contentId + "/view?usp=sharing")
+                        .filename("lecture-" + m + "-" + v + ".mp4").description("Lecture " + (v + 1) + " walkthrough")
+                        .cloudProvider(CloudProvider.GOOGLE_DRIVE).module(module).build());
+            }
+            for (int d = 0; d < DOCUMENTS_PER_MODULE; d++) {
+                module.getDocuments().add(Document.builder().id(contentId++)
+                        .URL("https://www.dropbox.com/s/q8w7e6r5t4y3" + contentId + "/notes.pdf?dl=0")
+                        .filename("notes-" + m + "-" + d + ".pdf")
+                        .cloudProvider(CloudProvider.DROPBOX).module(module).build());
+            }
+            course.getModules().add(module);
+        }
+
+        for (int s = 0; s < students; s++) {
+            long studentId = 1_000L + s;
+            course.getEnrollmentList().add(Enrollment.builder().id(courseId * 100_000 + s).studentId(studentId)
+                    .course(course).price(course.getPrice()).enrolledAt(CREATED_AT.plusDays(s % 90))
+                    .status(Status.ACTIVE).build());
+            if (s % 5 == 0) {
+                course.getFeedbackList().add(Feedback.builder().id(courseId * 100_000 + s).course(course)
+                        .studentId(studentId).rating(1 + s % 5).reviewTitle("Worth it")
+                        .review("Clear explanations and practical examples; the module on caching was the highlight.")
+                        .createdAt(CREATED_AT.plusDays(s % 120)).build());
+            }
+        }
+        return course;
+    }
+
+    /**
+     * The catalog columns of a course, as the listing queries select them.
+     */
+    static CourseSummaryView summary(Course course) {
+        return new CourseSummaryView(course.getId(), course.getTitle(), course.getDescription(), course.getPrice());
+    }
+
+    /**
+     * A CourseViewAssembler whose catalog queries are answered from the given course graphs instead of a database.
+     */
+    static CourseViewAssembler catalogAssembler(List<Course> courses) {
+        Map<Long, Course> byId = courses.stream().collect(Collectors.toMap(Course::getId, Function.identity()));
+        EnrollmentRepository enrollments = repository(EnrollmentRepository.class, "countByCourseIdIn", ids -> ids.stream()
+                .map(id -> new CourseCountView(id, (long) byId.get(id).getEnrollmentList().size()))
+                .toList());
+        ModuleRepository modules = repository(ModuleRepository.class, "findViewsByCourseIdIn", ids -> ids.stream()
+                .flatMap(id -> byId.get(id).getModules().stream())
+                .map(module -> new ModuleView(module.getId(), module.getCourse().getId(), module.getModuleName()))
+                .toList());
+        CourseRatingSummaryRepository ratings = repository(CourseRatingSummaryRepository.class, "findAllById", ids -> ids.stream()
+                .map(id -> {
+                    CourseRatingSummary summary = CourseRatingSummary.empty(id);
+                    byId.get(id).getFeedbackList().forEach(feedback -> summary.add(feedback.getRating()));
+                    return summary;
+                })
+                .toList());
+        return new CourseViewAssembler(enrollments, modules, repository(VideoRepository.class, null, null),
+                repository(DocumentRepository.class, null, null), repository(FeedbackRepository.class, null, null),
+                ratings, new Conversion());
+    }
+
+    // Answers one query method with the given function and rejects every other call
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, String query, Function<List<Long>, List<?>> answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getName().equals(query)) {
+                return answer.apply((List<Long>) args[0]);
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+}
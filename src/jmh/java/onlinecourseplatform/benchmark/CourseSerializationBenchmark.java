@@ -0,0 +1,77 @@
+package onlinecourseplatform.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import onlinecourseplatform.dto.responseDTOs.CourseResponseDTO;
+import onlinecourseplatform.utility.Conversion;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of the course detail response, with an ObjectMapper configured like Spring Boot's,
+ * with and without the Blackbird module, and streamed through gzip the way compressed responses are written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CourseSerializationBenchmark {
+
+    @Param({"20", "500"})
+    private int students;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private CourseResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        response = new Conversion().toResponseDto(CourseFixtures.course(1L, students));
+    }
+
+    @Benchmark
+    public byte[] writeCourseResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * Writes straight into a gzip stream without an intermediate byte array; returns the compressed size.
+     */
+    @Benchmark
+    public long writeCourseResponseGzip() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(counter, 8192)) {
+            objectMapper.writeValue(gzip, response);
+        }
+        return counter.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
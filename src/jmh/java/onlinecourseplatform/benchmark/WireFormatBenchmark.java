@@ -0,0 +1,81 @@
+package onlinecourseplatform.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
+import onlinecourseplatform.dto.responseDTOs.CourseContentResponseDTO;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.utility.Conversion;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * JSON against CBOR for the payloads mobile clients fetch most: a catalog page and one course's content.
+ * CborNegotiationTest checks that CBOR responses are the smaller ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WireFormatBenchmark {
+
+    private static final int CATALOG_PAGE = 50;
+    private static final TypeReference<List<BasicCourseDetailsResponse>> CATALOG_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<BasicCourseDetailsResponse> catalog;
+    private CourseContentResponseDTO content;
+    private byte[] encodedCatalog;
+    private byte[] encodedContent;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule());
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+
+        List<Course> courses = LongStream.rangeClosed(1, CATALOG_PAGE)
+                .mapToObj(id -> CourseFixtures.course(id, 20))
+                .toList();
+        catalog = CourseFixtures.catalogAssembler(courses)
+                .toBasicCourseDetails(courses.stream().map(CourseFixtures::summary).toList());
+        content = new Conversion().toCourseContentResponseDTO(courses.get(0));
+        encodedCatalog = objectMapper.writeValueAsBytes(catalog);
+        encodedContent = objectMapper.writeValueAsBytes(content);
+    }
+
+    @Benchmark
+    public byte[] encodeCatalog() throws IOException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public List<BasicCourseDetailsResponse> decodeCatalog() throws IOException {
+        return objectMapper.readValue(encodedCatalog, CATALOG_TYPE);
+    }
+
+    @Benchmark
+    public byte[] encodeContent() throws IOException {
+        return objectMapper.writeValueAsBytes(content);
+    }
+
+    @Benchmark
+    public CourseContentResponseDTO decodeContent() throws IOException {
+        return objectMapper.readValue(encodedContent, CourseContentResponseDTO.class);
+    }
+}
@@ -4,6 +4,7 @@ import onlinecourseplatform.entity.User;
 import onlinecourseplatform.entity.Role;
 import onlinecourseplatform.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class AdminInitializer implements CommandLineRunner {
@@ -36,9 +38,9 @@ public class AdminInitializer implements CommandLineRunner {
                     .role(Role.ADMIN)
                     .build();
             userRepository.save(admin);
-            System.out.println("✅ Admin user created at startup.");
+            log.info("Admin user created at startup");
         } else {
-            System.out.println("ℹ️ Admin user already exists.");
+            log.debug("Admin user already exists");
         }
     }
 }
\ No newline at end of file
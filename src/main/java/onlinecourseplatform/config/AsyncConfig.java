@@ -0,0 +1,51 @@
+package onlinecourseplatform.config;
+
+import io.opentelemetry.context.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Enables @Async and @Scheduled and defines the executors background work runs on.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Small dedicated pool for media packaging so long downloads never occupy request-serving threads.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mediaTaskExecutor(@Value("${media.hls.worker-threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("media-");
+        executor.setTaskDecorator(AsyncConfig::propagateTraceContext);
+        return executor;
+    }
+
+    /**
+     * Single-threaded pool for bulk imports; jobs queue up instead of competing for database connections.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor batchTaskExecutor(@Value("${enrollment.bulk.worker-threads:1}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("batch-");
+        executor.setTaskDecorator(AsyncConfig::propagateTraceContext);
+        return executor;
+    }
+
+    // Background work continues the trace of the request that submitted it
+    private static Runnable propagateTraceContext(Runnable task) {
+        return Context.current().wrap(task);
+    }
+}
@@ -0,0 +1,82 @@
+package onlinecourseplatform.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import onlinecourseplatform.datasource.ReplicaLagMonitor;
+import onlinecourseplatform.datasource.ReplicaRoutingDataSource;
+import onlinecourseplatform.datasource.Workload;
+import onlinecourseplatform.datasource.WorkloadRoutingDataSource;
+import onlinecourseplatform.observability.QueryCountingDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One Hikari pool per {@link Workload}, so slow batch work cannot starve logins or catalog reads.
+ * Every pool starts from spring.datasource.hikari.* and is then overridden by app.datasource.pools.{workload}.*.
+ * Connection wait times are recorded as the hikaricp.connections.acquire timer, tagged by pool.
+ */
+@Configuration
+public class DataSourceConfig implements DisposableBean {
+
+    private final Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+
+    @Bean
+    public WorkloadRoutingDataSource workloadDataSource(DataSourceProperties properties, Environment environment,
+                                                       MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            binder.bind("app.datasource.pools." + workload.poolName(), Bindable.ofInstance(pool));
+            pool.setPoolName(workload.poolName());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+        }
+
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource();
+        routing.setTargetDataSources(new HashMap<>(pools));
+        routing.setDefaultTargetDataSource(pools.get(Workload.WRITE));
+        return routing;
+    }
+
+    /**
+     * The DataSource everything uses. Lazy so the pool is chosen when the first statement runs,
+     * once the transaction's read-only flag and the workload are known. Statements are counted per request by
+     * {@link QueryCountingDataSource}.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadDataSource,
+                                 ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        if (monitor == null) {
+            return new LazyConnectionDataSourceProxy(new QueryCountingDataSource(workloadDataSource));
+        }
+        Map<Object, Object> targets = new HashMap<>(monitor.getReplicas());
+        targets.put(ReplicaRoutingDataSource.PRIMARY, workloadDataSource);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(monitor);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(workloadDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(new QueryCountingDataSource(routing));
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,86 @@
+package onlinecourseplatform.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import onlinecourseplatform.datasource.ReadYourWrites;
+import onlinecourseplatform.datasource.ReadYourWritesInterceptor;
+import onlinecourseplatform.datasource.ReplicaLagMonitor;
+import onlinecourseplatform.security.CurrentUserContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits database traffic between the primary and read replicas (wired into the DataSource by DataSourceConfig).
+ * Transactions marked readOnly go to a replica within the lag limit; writes, non-transactional work
+ * and reads right after a user's own write go to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig implements WebMvcConfigurer, DisposableBean {
+
+    @Value("${app.datasource.replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replica.maximum-pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.routing.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${app.datasource.routing.sticky-seconds:10}")
+    private long stickySeconds;
+
+    @Value("${app.datasource.routing.max-tracked-users:100000}")
+    private int maxTrackedUsers;
+
+    @Autowired
+    private CurrentUserContext currentUser;
+
+    private final Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+
+    /**
+     * Creates one pool per replica URL, sharing the primary's credentials.
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replicaUrls.get(i).trim())
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put("replica-" + i, replica);
+        }
+        return new ReplicaLagMonitor(new LinkedHashMap<>(replicas), maxLagSeconds);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        return new ReadYourWrites(stickySeconds, maxTrackedUsers);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(readYourWrites(), currentUser));
+    }
+
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,47 @@
+package onlinecourseplatform.config;
+
+import onlinecourseplatform.httpcache.CatalogVersions;
+import onlinecourseplatform.httpcache.ConditionalGetInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Conditional GETs for the public catalog endpoints. Browsers keep responses for max-age and CDNs or reverse
+ * proxies for s-maxage; after that both revalidate with the ETag and usually get an empty 304.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.http-cache.enabled", havingValue = "true")
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+    @Value("${app.http-cache.max-age-seconds:30}")
+    private long maxAgeSeconds;
+
+    @Value("${app.http-cache.shared-max-age-seconds:60}")
+    private long sharedMaxAgeSeconds;
+
+    @Value("${app.datasource.routing.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${app.datasource.routing.lag-check-interval-ms:2000}")
+    private long lagCheckIntervalMs;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .sMaxAge(Duration.ofSeconds(sharedMaxAgeSeconds))
+                .cachePublic();
+        // A replica passes the lag check with up to max-lag behind and can fall further back until the next check
+        long replicaLagMillis = maxLagSeconds * 1000 + lagCheckIntervalMs;
+        registry.addInterceptor(new ConditionalGetInterceptor(catalogVersions, cacheControl, replicaLagMillis));
+    }
+}
@@ -0,0 +1,186 @@
+package onlinecourseplatform.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onlinecourseplatform.observability.QueryCounter;
+import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.repository.DocumentRepository;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.repository.FeedbackRepository;
+import onlinecourseplatform.repository.ModuleRepository;
+import onlinecourseplatform.repository.OutboxEventRepository;
+import onlinecourseplatform.repository.PaymentRepository;
+import onlinecourseplatform.repository.UserRepository;
+import onlinecourseplatform.repository.VideoRepository;
+import onlinecourseplatform.service.FeedbackServices.FeedbackOrder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs EXPLAIN on the repository hot paths at startup and reports any that would scan a whole table.
+ * Each hot path is called once inside a rolled-back transaction and the SQL Hibernate prepares for it is explained,
+ * so the check follows the queries as they are actually generated.
+ * Meant for local MySQL or the H2 test database; a missing index then fails the build instead of production.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "db.query-plan-check.enabled", havingValue = "true")
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    /**
+     * A repository call on a hot path and the values it binds, in the order they appear in the generated SQL.
+     * Only its first statement is explained; any later ones are lookups by primary key.
+     */
+    private record HotQuery(String name, Runnable call, List<Object> parameters) {
+    }
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EnrollmentRepository enrollmentRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final PaymentRepository paymentRepository;
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final VideoRepository videoRepository;
+    private final DocumentRepository documentRepository;
+    private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Value("${db.query-plan-check.fail-on-full-scan:true}")
+    private boolean failOnFullScan;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> fullScans = findFullScans();
+        if (fullScans.isEmpty()) {
+            log.info("Query plan check passed for {} hot queries", hotQueries().size());
+            return;
+        }
+        String message = "Hot queries without a usable index: " + String.join(", ", fullScans);
+        if (failOnFullScan) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    /**
+     * Returns the names of the hot queries whose plan is a full table scan.
+     */
+    public List<String> findFullScans() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        boolean h2 = product != null && product.toUpperCase(Locale.ROOT).contains("H2");
+        List<String> fullScans = new ArrayList<>();
+        for (HotQuery query : hotQueries()) {
+            String sql = generatedSql(query);
+            Object[] parameters = query.parameters().toArray();
+            boolean fullScan = h2 ? isH2FullScan(sql, parameters) : isMySqlFullScan(sql, parameters);
+            if (fullScan) {
+                fullScans.add(query.name());
+            }
+            log.debug("EXPLAIN {} [{}] -> {}", query.name(), sql, fullScan ? "full scan" : "indexed");
+        }
+        return fullScans;
+    }
+
+    private List<HotQuery> hotQueries() {
+        List<Long> ids = List.of(1L, 2L);
+        return List.of(
+                hot("EnrollmentRepository.existsByStudentIdAndCourseId",
+                        () -> enrollmentRepository.existsByStudentIdAndCourseId(1L, 1L), 1L, 1L, 1),
+                hot("EnrollmentRepository.findByStudentIdAndCourseId",
+                        () -> enrollmentRepository.findByStudentIdAndCourseId(1L, 1L), 1L, 1L),
+                hot("EnrollmentRepository.findViewsByStudentId",
+                        () -> enrollmentRepository.findViewsByStudentId(1L), 1L),
+                hot("EnrollmentRepository.findCourseSummariesByStudentId",
+                        () -> enrollmentRepository.findCourseSummariesByStudentId(1L), 1L),
+                hot("EnrollmentRepository.countByCourseIdIn",
+                        () -> enrollmentRepository.countByCourseIdIn(ids), 1L, 2L),
+                hot("EnrollmentRepository.findViewsByCourseId",
+                        () -> enrollmentRepository.findViewsByCourseId(1L, FIRST_PAGE), 1L, 10),
+                hot("FeedbackRepository.existsByCourseIdAndStudentId",
+                        () -> feedbackRepository.existsByCourseIdAndStudentId(1L, 1L), 1L, 1L, 1),
+                hot("FeedbackRepository.findViewsByCourseId (recent)",
+                        () -> feedbackRepository.findViewsByCourseId(1L, page(FeedbackOrder.RECENT)), 1L, 10),
+                hot("FeedbackRepository.findViewsByCourseId (helpful)",
+                        () -> feedbackRepository.findViewsByCourseId(1L, page(FeedbackOrder.HELPFUL)), 1L, 10),
+                hot("FeedbackRepository.findViewsByCourseIdIn",
+                        () -> feedbackRepository.findViewsByCourseIdIn(ids), 1L, 2L),
+                hot("PaymentRepository.findByUserId",
+                        () -> paymentRepository.findByUserId(1L), 1L),
+                hot("CourseRepository.findDetailsByInstructorId",
+                        () -> courseRepository.findDetailsByInstructorId(1L), 1L),
+                hot("ModuleRepository.findByCourseId",
+                        () -> moduleRepository.findByCourseId(1L), 1L),
+                hot("ModuleRepository.findViewsByCourseIdIn",
+                        () -> moduleRepository.findViewsByCourseIdIn(ids), 1L, 2L),
+                hot("VideoRepository.findViewsByModuleIdIn",
+                        () -> videoRepository.findViewsByModuleIdIn(ids), 1L, 2L),
+                hot("DocumentRepository.findViewsByModuleIdIn",
+                        () -> documentRepository.findViewsByModuleIdIn(ids), 1L, 2L),
+                hot("UserRepository.findByEmail",
+                        () -> userRepository.findByEmail("plan-check@example.com"), "plan-check@example.com"),
+                hot("OutboxEventRepository.lockPending",
+                        () -> outboxEventRepository.lockPending(5, FIRST_PAGE), 5, 10));
+    }
+
+    private static HotQuery hot(String name, Runnable call, Object... parameters) {
+        return new HotQuery(name, call, List.of(parameters));
+    }
+
+    private static Pageable page(FeedbackOrder order) {
+        return PageRequest.of(0, 10, order.getSort());
+    }
+
+    /**
+     * Runs the hot path without keeping any of its effects and returns the first statement Hibernate prepared.
+     */
+    private String generatedSql(HotQuery query) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> statements = QueryCounter.capture(() -> transaction.executeWithoutResult(status -> {
+            query.call().run();
+            status.setRollbackOnly();
+        }));
+        if (statements.isEmpty()) {
+            throw new IllegalStateException(query.name() + " did not run any SQL");
+        }
+        String sql = statements.get(0);
+        long placeholders = sql.chars().filter(c -> c == '?').count();
+        if (placeholders != query.parameters().size()) {
+            throw new IllegalStateException(query.name() + " binds " + placeholders + " values but "
+                    + query.parameters().size() + " were given: " + sql);
+        }
+        return sql;
+    }
+
+    // H2 prints the chosen access path as a comment, e.g. /* PUBLIC.ENROLLMENTS.tableScan */
+    private boolean isH2FullScan(String sql, Object[] parameters) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+        return plan != null && plan.toLowerCase(Locale.ROOT).contains("tablescan");
+    }
+
+    // MySQL reports type ALL for a table scan and type index for a full index scan. On a near-empty schema it also
+    // picks them when an index would serve the filter, so only scans with no candidate key count
+    private boolean isMySqlFullScan(String sql, Object[] parameters) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, parameters).stream().anyMatch(row -> {
+            Object type = row.get("type");
+            return ("ALL".equals(type) || "index".equals(type)) && row.get("possible_keys") == null;
+        });
+    }
+}
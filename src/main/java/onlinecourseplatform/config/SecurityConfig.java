@@ -1,9 +1,11 @@
 package onlinecourseplatform.config;
 
 import onlinecourseplatform.security.JwtAuthenticationFilter;
+import onlinecourseplatform.security.SignedContentUrlFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -27,6 +29,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final SignedContentUrlFilter signedContentUrlFilter;
 
     @Value("${ALLOWED_ORIGINS}")
     private String allowedOrigins;
@@ -43,6 +46,9 @@ public class SecurityConfig {
                                 "/api/courses/popular",
                                 "/api/courses/search",
                                 "/api/courses/{id}",
+                                "/api/media/**", // guarded by SignedContentUrlFilter
+                                "/actuator/health",
+                                "/actuator/prometheus", // management port only
                                 "/v3/api-docs/**",
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
@@ -50,10 +56,15 @@ public class SecurityConfig {
                                 "/webjars/**",
                                 "/configuration/**"
                         ).permitAll()
+                        // Reviews are public; submitting and voting are checked per method
+                        .requestMatchers(HttpMethod.GET, "/api/courses/feedbacks/course/**").permitAll()
+                        .requestMatchers("/api/courses/feedbacks/**").authenticated()
                         .requestMatchers("/api/courses/**").hasAnyRole("INSTRUCTOR", "ADMIN")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
+                .addFilterBefore(signedContentUrlFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
@@ -4,9 +4,12 @@ import onlinecourseplatform.dto.requestDTOs.CourseRequestDTO;
 import onlinecourseplatform.dto.requestDTOs.CourseUpdateRequest;
 import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
 import onlinecourseplatform.dto.responseDTOs.CourseResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.PageResponse;
 import onlinecourseplatform.dto.responseDTOs.UserResponseDTO;
-import onlinecourseplatform.entity.Course;
 import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.httpcache.ConditionalGet;
+import onlinecourseplatform.security.CurrentUserContext;
 import onlinecourseplatform.service.CourseService;
 import onlinecourseplatform.utility.Conversion;
 import onlinecourseplatform.utility.Utility;
@@ -16,9 +19,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import java.security.Principal;
 import java.util.List;
@@ -34,42 +36,39 @@ public class CourseController {
 
     private final CourseService courseService;
     private final Utility utility;
+    private final CurrentUserContext currentUser;
 
     /**
      * Retrieve all courses.
      */
     @Operation(summary = "Get all courses")
     @GetMapping("/all")
+    @ConditionalGet(ConditionalGet.Scope.CATALOG)
     public ResponseEntity<List<BasicCourseDetailsResponse>> getAllCourses() {
-        log.info("Fetching all courses)");
+        log.debug("Fetching all courses");
         return ResponseEntity.ok(courseService.getAllCourses());
     }
 
     @Operation(summary = "Get course details by ID (role-based response)")
     @GetMapping("/{id}")
-    public ResponseEntity<?> getCourseById(@PathVariable Long id, Principal principal) {
-        log.info("Fetching course details for ID {}", id);
-
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    @ConditionalGet(ConditionalGet.Scope.COURSE)
+    public ResponseEntity<?> getCourseById(@PathVariable Long id) {
+        log.debug("Fetching course details for ID {}", id);
 
         // For unauthenticated users
-        if (authentication == null || !authentication.isAuthenticated() ||
-                "anonymousUser".equals(authentication.getPrincipal())) {
+        if (!currentUser.isAuthenticated()) {
             return ResponseEntity.ok(courseService.getCourseForStudent(id));
         }
 
         // Get role
-        Role userRole = Role.valueOf(utility.getCurrentUserRole());
+        Role userRole = currentUser.getRole();
 
         // For instructors or admins
         if (userRole == Role.INSTRUCTOR || userRole == Role.ADMIN) {
-            Course course = courseService.getCourseEntityById(id); // New helper method to return entity
-            Long currentUserId = utility.getUserIdFromPrincipal(principal);
-
             // Allow full access only to course's instructor or an admin
-            if (userRole == Role.ADMIN || course.getInstructorId().equals(currentUserId)) {
-                return ResponseEntity.ok(courseService.getFullCourseForInstructor(id));
-            } else {
+            try {
+                return ResponseEntity.ok(courseService.getFullCourseForInstructor(id, currentUser.getId(), userRole == Role.ADMIN));
+            } catch (AccessDeniedException e) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN)
                         .body("You are not authorized to view full course details of this course.");
             }
@@ -87,7 +86,7 @@ public class CourseController {
     @PreAuthorize("hasRole('INSTRUCTOR')")
     public ResponseEntity<List<CourseResponseDTO>> getInstructorCourses(Principal principal) {
         Long instructorId = utility.getUserIdFromPrincipal(principal);
-        log.info("Fetching courses for instructor ID {}", instructorId);
+        log.debug("Fetching courses for instructor ID {}", instructorId);
         return ResponseEntity.ok(courseService.getCoursesByInstructor(instructorId));
     }
 
@@ -130,6 +129,19 @@ public class CourseController {
         return ResponseEntity.ok("Course deleted successfully");
     }
 
+    /**
+     * Get a page of a course's enrollments (course instructor or admin).
+     */
+    @Operation(summary = "Get a page of a course's enrollments (Instructor or Admin)")
+    @GetMapping("/{id}/enrollments")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR','ADMIN')")
+    public ResponseEntity<PageResponse<EnrollmentResponseDTO>> getCourseEnrollments(@PathVariable Long id,
+                                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                                   @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(courseService.getCourseEnrollments(id, currentUser.getId(),
+                currentUser.getRole() == Role.ADMIN, page, size));
+    }
+
     /**
      * Get students enrolled in a course (instructors only).
      */
@@ -138,7 +150,7 @@ public class CourseController {
     @PreAuthorize("hasAnyRole('INSTRUCTOR','ADMIN')")
     public ResponseEntity<List<UserResponseDTO>> getEnrolledStudents(@PathVariable Long id, Principal principal) {
         Long instructorId = utility.getUserIdFromPrincipal(principal);
-        log.info("Instructor {} fetching students for course ID {}", instructorId, id);
+        log.debug("Instructor {} fetching students for course ID {}", instructorId, id);
         List<UserResponseDTO> students = courseService.getEnrolledStudents(id, instructorId);
         return ResponseEntity.ok(students);
     }
@@ -150,7 +162,7 @@ public class CourseController {
     @GetMapping("/{id}/students-count")
     public ResponseEntity<Integer> getEnrolledStudentsCount(@PathVariable Long id, Principal principal) {
         Long instructorId = utility.getUserIdFromPrincipal(principal);
-        log.info("Fetching students Count for course ID {}", id);
+        log.debug("Fetching students Count for course ID {}", id);
         List<UserResponseDTO> students = courseService.getEnrolledStudents(id, instructorId);
         return ResponseEntity.ok(students.size());
     }
@@ -170,8 +182,9 @@ public class CourseController {
      * Get popular courses with pagination.
      */
     @GetMapping("/popular")
+    @ConditionalGet(ConditionalGet.Scope.CATALOG)
     public ResponseEntity<List<BasicCourseDetailsResponse>> getPopularCourses(@RequestParam(defaultValue = "5") int limit) {
-        log.info("Fetching top {} popular courses", limit);
+        log.debug("Fetching top {} popular courses", limit);
         List<BasicCourseDetailsResponse> results = courseService.getPopularCourses(limit);
         return ResponseEntity.ok(results);
     }
@@ -181,7 +194,7 @@ public class CourseController {
      */
     @GetMapping("/search")
     public ResponseEntity<List<BasicCourseDetailsResponse>> searchCourses(@RequestParam String query) {
-        log.info("Searching courses with keyword: {}", query);
+        log.debug("Searching courses with keyword: {}", query);
         List<BasicCourseDetailsResponse> results = courseService.searchCourses(query);
         return ResponseEntity.ok(results);
     }
@@ -1,16 +1,24 @@
 package onlinecourseplatform.controller;
 
 import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
+import onlinecourseplatform.dto.responseDTOs.BulkEnrollmentJobResponse;
+import onlinecourseplatform.dto.responseDTOs.BulkEnrollmentRowResult;
 import onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.EnrollmentResult;
+import onlinecourseplatform.service.BulkEnrollmentJob;
+import onlinecourseplatform.service.BulkEnrollmentService;
 import onlinecourseplatform.service.EnrollmentService;
 import onlinecourseplatform.utility.Utility;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +33,7 @@ import java.util.Map;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final BulkEnrollmentService bulkEnrollmentService;
     private final Utility utility;
 
     @GetMapping("all")
@@ -52,16 +61,47 @@ public class EnrollmentController {
 
     @PostMapping("/enroll/{courseId}")
     @PreAuthorize("hasRole('STUDENT')")
-    @Operation(summary = "Enroll in a course")
-    public ResponseEntity<?> enroll(@PathVariable Long courseId, Principal principal) {
+    @Operation(summary = "Enroll in a course (idempotent; honours the Idempotency-Key header)")
+    public ResponseEntity<?> enroll(@PathVariable Long courseId,
+                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                    Principal principal) {
         Long studentId = utility.getUserIdFromPrincipal(principal);
-        EnrollmentResponseDTO dto = enrollmentService.enroll(studentId, courseId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
-                "message", "Enrolled successfully",
-                "enrollment", dto
+        EnrollmentResult result = enrollmentService.enroll(studentId, courseId, idempotencyKey);
+        return ResponseEntity.status(result.created() ? HttpStatus.CREATED : HttpStatus.OK).body(Map.of(
+                "message", result.created() ? "Enrolled successfully" : "Already enrolled in this course",
+                "enrollment", result.enrollment()
         ));
     }
 
+    /**
+     * Accepts a streamed CSV of "studentId,courseId" lines and enrolls them in the background.
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "text/plain", "application/octet-stream"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk-enroll students from a CSV of studentId,courseId pairs (Admin only)")
+    public ResponseEntity<BulkEnrollmentJobResponse> bulkEnroll(HttpServletRequest request) throws IOException {
+        BulkEnrollmentJob job = bulkEnrollmentService.submit(request.getInputStream());
+        return ResponseEntity.accepted().body(job.toResponse());
+    }
+
+    @GetMapping("/bulk/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get progress of a bulk enrollment job (Admin only)")
+    public ResponseEntity<BulkEnrollmentJobResponse> getBulkJob(@PathVariable String jobId) {
+        return bulkEnrollmentService.findJob(jobId)
+                .map(job -> ResponseEntity.ok(job.toResponse()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/bulk/{jobId}/results")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get per-row results of a bulk enrollment job (Admin only)")
+    public ResponseEntity<List<BulkEnrollmentRowResult>> getBulkJobResults(@PathVariable String jobId,
+                                                                           @RequestParam(defaultValue = "false") boolean failuresOnly) {
+        return bulkEnrollmentService.findJob(jobId)
+                .map(job -> ResponseEntity.ok(job.results(failuresOnly)))
+                .orElse(ResponseEntity.notFound().build());
+    }
 
     @PutMapping("/completed/{courseId}")
     @PreAuthorize("hasRole('STUDENT')")
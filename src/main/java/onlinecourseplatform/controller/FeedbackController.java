@@ -2,7 +2,11 @@ package onlinecourseplatform.controller;
 
 import onlinecourseplatform.dto.requestDTOs.FeedbackRequestDTO;
 import onlinecourseplatform.dto.responseDTOs.FeedbackResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.PageResponse;
+import onlinecourseplatform.dto.responseDTOs.RatingSummaryDTO;
+import onlinecourseplatform.httpcache.ConditionalGet;
 import onlinecourseplatform.service.FeedbackServices;
+import onlinecourseplatform.service.FeedbackServices.FeedbackOrder;
 import onlinecourseplatform.utility.Utility;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -12,7 +16,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.security.Principal;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/courses/feedbacks")
@@ -29,18 +32,43 @@ public class FeedbackController {
     @Operation(summary = "Get Feedback by ID")
     @GetMapping("/{id}")
     public ResponseEntity<FeedbackResponseDTO> getFeedbackById(@PathVariable Long id) {
-        log.info("Fetching feedback with ID: {}", id);
+        log.debug("Fetching feedback with ID: {}", id);
         return ResponseEntity.ok(feedbackServices.getFeedback(id));
     }
 
     /**
-     * Get all feedbacks for a course.
+     * Get a page of feedbacks for a course, sorted by RECENT or HELPFUL.
      */
-    @Operation(summary = "Get all feedbacks of a course")
+    @Operation(summary = "Get a page of feedbacks of a course")
     @GetMapping("/course/{id}")
-    public ResponseEntity<List<FeedbackResponseDTO>> getAllFeedbacks(@PathVariable Long id) {
-        log.info("Fetching all feedbacks for course ID: {}", id);
-        return ResponseEntity.ok(feedbackServices.getAllFeedbacks(id));
+    @ConditionalGet(ConditionalGet.Scope.COURSE)
+    public ResponseEntity<PageResponse<FeedbackResponseDTO>> getFeedbacks(@PathVariable Long id,
+                                                                          @RequestParam(defaultValue = "RECENT") FeedbackOrder sort,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "10") int size) {
+        log.debug("Fetching {} feedbacks page {} for course ID: {}", sort, page, id);
+        return ResponseEntity.ok(feedbackServices.getFeedbacks(id, sort, page, size));
+    }
+
+    /**
+     * Get the rating summary of a course.
+     */
+    @Operation(summary = "Get the rating summary (average, count, histogram) of a course")
+    @GetMapping("/course/{id}/summary")
+    @ConditionalGet(ConditionalGet.Scope.COURSE)
+    public ResponseEntity<RatingSummaryDTO> getRatingSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(feedbackServices.getRatingSummary(id));
+    }
+
+    /**
+     * Mark a feedback as helpful.
+     */
+    @Operation(summary = "Mark a feedback as helpful")
+    @PostMapping("/{id}/helpful")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<FeedbackResponseDTO> markHelpful(@PathVariable Long id, Principal principal) {
+        Long userId = utility.getUserIdFromPrincipal(principal);
+        return ResponseEntity.ok(feedbackServices.markHelpful(id, userId));
     }
 
     /**
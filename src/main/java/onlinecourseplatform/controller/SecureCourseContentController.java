@@ -1,13 +1,13 @@
 package onlinecourseplatform.controller;
 
-import onlinecourseplatform.entity.Course;
-import onlinecourseplatform.entity.Document;
-import onlinecourseplatform.entity.Video;
-import onlinecourseplatform.repository.DocumentRepository;
-import onlinecourseplatform.repository.VideoRepository;
-import onlinecourseplatform.service.EnrollmentService;
+import onlinecourseplatform.media.LocalContentStore;
+import onlinecourseplatform.observability.LogSamplingTurboFilter;
+import onlinecourseplatform.security.ContentUrlSigner;
+import onlinecourseplatform.security.ContentUrlSigner.SignedUrl;
+import onlinecourseplatform.security.CurrentUserContext;
+import onlinecourseplatform.service.ContentAccessService;
+import onlinecourseplatform.service.ContentAccessService.ContentRef;
 import onlinecourseplatform.service.SecureContentStreamingService;
-import onlinecourseplatform.utility.Utility;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
@@ -18,17 +18,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/secure/content")
 @RequiredArgsConstructor
 @Slf4j
 public class SecureCourseContentController {
 
-    private final EnrollmentService enrollmentService;
     private final SecureContentStreamingService streamingService;
-    private final Utility utility;
-    private final VideoRepository videoRepository;
-    private final DocumentRepository documentRepository;
+    private final ContentAccessService contentAccessService;
+    private final CurrentUserContext currentUser;
+    private final ContentUrlSigner contentUrlSigner;
 
     /**
      * Streams video content securely, ensuring the user has the right permissions.
@@ -36,26 +37,16 @@ public class SecureCourseContentController {
     @GetMapping("/video/{videoId}")
     public ResponseEntity<Resource> streamVideo(@PathVariable Long videoId) {
 
-        Long userId = utility.getCurrentUserId();
-        String role = utility.getCurrentUserRole();
-
-        Video video = videoRepository.findById(videoId)
-                .orElseThrow(() -> new RuntimeException("Video not found with ID: " + videoId));
-
-        Course course = video.getModule().getCourse();
-        Long courseId = course.getId();
-
-        boolean isAuthorized = role.equals("ADMIN")
-                || (role.equals("INSTRUCTOR") && course.getInstructorId().equals(userId))
-                || enrollmentService.isEnrolled(userId, courseId);
+        Long userId = currentUser.getId();
+        ContentRef video = contentAccessService.resolveVideo(videoId);
 
-        if (!isAuthorized) {
-            log.warn("User {} is not authorized to access video {} of course {}", userId, videoId, courseId);
+        if (!contentAccessService.canAccess(userId, currentUser.getRole(), video)) {
+            log.warn("User {} is not authorized to access video {} of course {}", userId, videoId, video.courseId());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        log.info("User {} is accessing video {} from course {}", userId, videoId, courseId);
-        return streamingService.streamVideoContent(video.getURL(), video.getFilename());
+        log.info(LogSamplingTurboFilter.SAMPLED, "User {} is accessing video {} from course {}", userId, videoId, video.courseId());
+        return streamingService.streamVideoContent(video.url(), video.filename());
     }
 
     /**
@@ -64,25 +55,65 @@ public class SecureCourseContentController {
     @GetMapping("/document/{documentId}")
     public ResponseEntity<Resource> streamDocument(@PathVariable Long documentId) {
 
-        Long userId = utility.getCurrentUserId();
-        String role = utility.getCurrentUserRole();
+        Long userId = currentUser.getId();
+        ContentRef document = contentAccessService.resolveDocument(documentId);
 
-        Document document = documentRepository.findById(documentId)
-                .orElseThrow(() -> new RuntimeException("Document not found with ID: " + documentId));
+        if (!contentAccessService.canAccess(userId, currentUser.getRole(), document)) {
+            log.warn("User {} is not authorized to access document {} of course {}", userId, documentId, document.courseId());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
 
-        Course course = document.getModule().getCourse();
-        Long courseId = course.getId();
+        log.info(LogSamplingTurboFilter.SAMPLED, "User {} is accessing document {} from course {}", userId, documentId, document.courseId());
+        return streamingService.streamDocumentContent(document.url(), document.filename());
+    }
 
-        boolean isAuthorized = role.equals("ADMIN")
-                || (role.equals("INSTRUCTOR") && course.getInstructorId().equals(userId))
-                || enrollmentService.isEnrolled(userId, courseId);
+    /**
+     * Serves the HLS playlist of a video to authorized users.
+     */
+    @GetMapping("/video/{videoId}/hls/" + LocalContentStore.MANIFEST_NAME)
+    public ResponseEntity<String> streamVideoManifest(@PathVariable Long videoId) {
+        if (!contentAccessService.canAccess(currentUser.getId(), currentUser.getRole(), contentAccessService.resolveVideo(videoId))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return streamingService.streamHlsManifest(videoId, null);
+    }
 
-        if (!isAuthorized) {
-            log.warn("User {} is not authorized to access document {} of course {}", userId, documentId, courseId);
+    /**
+     * Serves one HLS segment of a video to authorized users.
+     */
+    @GetMapping("/video/{videoId}/hls/{segment}")
+    public ResponseEntity<Resource> streamVideoSegment(@PathVariable Long videoId, @PathVariable String segment) {
+        if (!contentAccessService.canAccess(currentUser.getId(), currentUser.getRole(), contentAccessService.resolveVideo(videoId))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return streamingService.streamHlsSegment(videoId, segment);
+    }
+
+    /**
+     * Issues a short-lived signed URL for a video so a player can fetch it without re-authorizing every request.
+     */
+    @GetMapping("/video/{videoId}/signed-url")
+    public ResponseEntity<?> signVideoUrl(@PathVariable Long videoId) {
+        Long userId = currentUser.getId();
+        if (!contentAccessService.canAccess(userId, currentUser.getRole(), contentAccessService.resolveVideo(videoId))) {
+            log.warn("User {} is not authorized to get a signed URL for video {}", userId, videoId);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        SignedUrl signed = contentUrlSigner.sign("video", videoId, userId);
+        return ResponseEntity.ok(Map.of("url", signed.url(), "expiresAt", signed.expiresAt()));
+    }
 
-        log.info("User {} is accessing document {} from course {}", userId, documentId, courseId);
-        return streamingService.streamDocumentContent(document.getURL(), document.getFilename());
+    /**
+     * Issues a short-lived signed URL for a document.
+     */
+    @GetMapping("/document/{documentId}/signed-url")
+    public ResponseEntity<?> signDocumentUrl(@PathVariable Long documentId) {
+        Long userId = currentUser.getId();
+        if (!contentAccessService.canAccess(userId, currentUser.getRole(), contentAccessService.resolveDocument(documentId))) {
+            log.warn("User {} is not authorized to get a signed URL for document {}", userId, documentId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        SignedUrl signed = contentUrlSigner.sign("document", documentId, userId);
+        return ResponseEntity.ok(Map.of("url", signed.url(), "expiresAt", signed.expiresAt()));
     }
 }
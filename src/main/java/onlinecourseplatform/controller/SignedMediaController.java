@@ -0,0 +1,77 @@
+package onlinecourseplatform.controller;
+
+import onlinecourseplatform.media.LocalContentStore;
+import onlinecourseplatform.security.SignedContentUrlFilter;
+import onlinecourseplatform.service.ContentAccessService;
+import onlinecourseplatform.service.ContentAccessService.ContentRef;
+import onlinecourseplatform.service.SecureContentStreamingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves course content through signed URLs issued by SecureCourseContentController.
+ * Authorization already happened when the URL was issued; {@link SignedContentUrlFilter} only checks the signature.
+ */
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+@Slf4j
+public class SignedMediaController {
+
+    private final SecureContentStreamingService streamingService;
+    private final ContentAccessService contentAccessService;
+
+    /**
+     * Streams a video through a signed URL.
+     */
+    @GetMapping("/video/{videoId}")
+    public ResponseEntity<Resource> streamVideo(@PathVariable Long videoId,
+                                                @RequestAttribute(SignedContentUrlFilter.USER_ID_ATTRIBUTE) Long userId) {
+        ContentRef video = contentAccessService.resolveVideo(videoId);
+        log.debug("User {} is accessing video {} via signed URL", userId, videoId);
+        return streamingService.streamVideoContent(video.url(), video.filename());
+    }
+
+    /**
+     * Serves the HLS playlist of a video through a signed URL; segment URIs carry the same uid/exp/sig
+     * (and nothing else from the request's query string).
+     */
+    @GetMapping("/video/{videoId}/hls/" + LocalContentStore.MANIFEST_NAME)
+    public ResponseEntity<String> streamVideoManifest(@PathVariable Long videoId,
+                                                      @RequestAttribute(SignedContentUrlFilter.USER_ID_ATTRIBUTE) Long userId,
+                                                      @RequestParam long exp, @RequestParam String sig) {
+        String signedQuery = "uid=" + userId + "&exp=" + exp
+                + "&sig=" + UriUtils.encodeQueryParam(sig, StandardCharsets.UTF_8);
+        return streamingService.streamHlsManifest(videoId, signedQuery);
+    }
+
+    /**
+     * Serves one HLS segment through a signed URL.
+     */
+    @GetMapping("/video/{videoId}/hls/{segment}")
+    public ResponseEntity<Resource> streamVideoSegment(@PathVariable Long videoId, @PathVariable String segment) {
+        return streamingService.streamHlsSegment(videoId, segment);
+    }
+
+    /**
+     * Streams a document through a signed URL.
+     */
+    @GetMapping("/document/{documentId}")
+    public ResponseEntity<Resource> streamDocument(@PathVariable Long documentId,
+                                                   @RequestAttribute(SignedContentUrlFilter.USER_ID_ATTRIBUTE) Long userId) {
+        ContentRef document = contentAccessService.resolveDocument(documentId);
+        log.debug("User {} is accessing document {} via signed URL", userId, documentId);
+        return streamingService.streamDocumentContent(document.url(), document.filename());
+    }
+}
@@ -38,7 +38,7 @@ public class UserController {
     @GetMapping("all")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        log.info("Admin requested all users");
+        log.debug("Admin requested all users");
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
@@ -63,7 +63,7 @@ public class UserController {
     @GetMapping("/me")
     public ResponseEntity<UserResponseDTO> getCurrentUser(Principal principal) {
         UserResponseDTO user = conversion.toResponseDto(utility.findUserByEmail(principal.getName()));
-        log.info("Fetching current user info: {}", user.getEmail());
+        log.debug("Fetching current user info: {}", user.getEmail());
         return ResponseEntity.ok(user);
     }
 
@@ -0,0 +1,339 @@
+package onlinecourseplatform.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onlinecourseplatform.datasource.Workload;
+import onlinecourseplatform.datasource.WorkloadContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a synthetic catalog for performance work: users, courses with modules, videos and documents,
+ * enrollments, feedback and payments. Course popularity follows a Zipf distribution, so a few courses
+ * collect most enrollments and feedback like in production. Rows are written with explicit IDs through
+ * JDBC batches, which the MySQL driver rewrites into multi-row inserts (rewriteBatchedStatements).
+ * Runs once at startup when datagen.enabled=true and adds to whatever data already exists.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datagen.enabled", havingValue = "true")
+public class DataGenerator implements ApplicationRunner {
+
+    private static final String[] WORDS = ("spring boot java microservice database index query cache redis latency "
+            + "throughput design pattern testing security token deployment container cloud scaling monitoring "
+            + "architecture api rest stream async thread memory profiling tuning practical project hands-on "
+            + "beginner advanced complete guide mastering fundamentals").split(" ");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${datagen.students:500000}")
+    private int students;
+
+    @Value("${datagen.instructors:5000}")
+    private int instructors;
+
+    @Value("${datagen.courses:100000}")
+    private int courses;
+
+    @Value("${datagen.modules-per-course:6}")
+    private int modulesPerCourse;
+
+    @Value("${datagen.videos-per-module:4}")
+    private int videosPerModule;
+
+    @Value("${datagen.documents-per-module:2}")
+    private int documentsPerModule;
+
+    @Value("${datagen.enrollments:10000000}")
+    private long enrollments;
+
+    @Value("${datagen.feedback-ratio:0.2}")
+    private double feedbackRatio;
+
+    @Value("${datagen.payment-ratio:0.5}")
+    private double paymentRatio;
+
+    @Value("${datagen.zipf-exponent:1.1}")
+    private double zipfExponent;
+
+    @Value("${datagen.description-length:1500}")
+    private int descriptionLength;
+
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${datagen.seed:42}")
+    private long seed;
+
+    @Value("${datagen.password:datagen-password}")
+    private String password;
+
+    @Value("${datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private SplittableRandom random;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        random = new SplittableRandom(seed);
+        long startedAt = System.nanoTime();
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BATCH)) {
+            long firstUserId = nextId("users");
+            long firstInstructorId = firstUserId + students;
+            insertUsers(firstUserId);
+
+            long firstCourseId = nextId("courses");
+            BigDecimal[] prices = insertCourses(firstCourseId, firstInstructorId);
+            insertContent(firstCourseId);
+            insertEnrollments(firstUserId, firstCourseId, prices);
+            insertRatingSummaries(firstCourseId);
+        }
+        log.info("Data generation finished in {} s", (System.nanoTime() - startedAt) / 1_000_000_000);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void insertUsers(long firstId) {
+        String hash = passwordEncoder.encode(password);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (Batch users = new Batch("users",
+                "INSERT INTO users (id, name, email, password, role, created_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < students + instructors; i++) {
+                long id = firstId + i;
+                boolean student = i < students;
+                String prefix = student ? "student" : "instructor";
+                users.add(id, prefix + " " + id, prefix + id + "@datagen.local", hash,
+                        student ? "STUDENT" : "INSTRUCTOR", now);
+            }
+        }
+    }
+
+    private BigDecimal[] insertCourses(long firstId, long firstInstructorId) {
+        BigDecimal[] prices = new BigDecimal[courses];
+        try (Batch batch = new Batch("courses",
+                "INSERT INTO courses (id, title, description, instructor_id, price, created_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < courses; i++) {
+                prices[i] = BigDecimal.valueOf(199 + 100L * random.nextInt(30));
+                batch.add(firstId + i, title(), text(descriptionLength / 2 + random.nextInt(descriptionLength / 2 + 1)),
+                        firstInstructorId + random.nextInt(instructors), prices[i], pastTimestamp(730));
+            }
+        }
+        return prices;
+    }
+
+    private void insertContent(long firstCourseId) {
+        long moduleId = nextId("module");
+        long videoId = nextId("video");
+        long documentId = nextId("document");
+        try (Batch modules = new Batch("module", "INSERT INTO module (id, course_id, module_name) VALUES (?, ?, ?)");
+             Batch videos = new Batch("video",
+                     "INSERT INTO video (id, module_id, video_url, video_filename, description, cloud_provider) VALUES (?, ?, ?, ?, ?, ?)",
+                     modules);
+             Batch documents = new Batch("document",
+                     "INSERT INTO document (id, module_id, document_url, document_filename, cloud_provider) VALUES (?, ?, ?, ?, ?)",
+                     modules)) {
+            for (int c = 0; c < courses; c++) {
+                for (int m = 0; m < modulesPerCourse; m++, moduleId++) {
+                    modules.add(moduleId, firstCourseId + c, "Module " + (m + 1) + ": " + title());
+                    for (int v = 0; v < videosPerModule; v++, videoId++) {
+                        videos.add(videoId, moduleId, "https://drive.google.com/file/d/gen" + videoId + "/view?usp=sharing",
+                                "lecture-" + videoId + ".mp4", text(12), "GOOGLE_DRIVE");
+                    }
+                    for (int d = 0; d < documentsPerModule; d++, documentId++) {
+                        documents.add(documentId, moduleId, "https://www.dropbox.com/s/gen" + documentId + "/notes.pdf?dl=0",
+                                "notes-" + documentId + ".pdf", "DROPBOX");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives each student the same number of enrollments (give or take one) in distinct courses drawn by
+     * popularity, with feedback and a payment for a share of them.
+     */
+    private void insertEnrollments(long firstStudentId, long firstCourseId, BigDecimal[] prices) {
+        ZipfSampler popularity = new ZipfSampler(courses, zipfExponent);
+        int[] courseByRank = shuffledIndexes(courses);
+        long perStudent = enrollments / students;
+        long remainder = enrollments % students;
+        int maxPerStudent = (int) Math.min(courses, perStudent + 1);
+
+        long enrollmentId = nextId("enrollments");
+        long feedbackId = nextId("feedbacks");
+        long paymentId = nextId("payment");
+        try (Batch enrollmentRows = new Batch("enrollments",
+                "INSERT INTO enrollments (id, student_id, course_id, price, enrolled_at, completed_at, status) VALUES (?, ?, ?, ?, ?, ?, ?)");
+             Batch feedbackRows = new Batch("feedbacks",
+                     "INSERT INTO feedbacks (id, course_id, student_id, rating, review_title, review, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)");
+             Batch paymentRows = new Batch("payment",
+                     "INSERT INTO payment (id, order_id, payment_id, signature, amount, status, payment_method, payment_date, user_id, course_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Set<Integer> chosen = new HashSet<>();
+            for (int s = 0; s < students; s++) {
+                long studentId = firstStudentId + s;
+                int count = (int) Math.min(maxPerStudent, perStudent + (s < remainder ? 1 : 0));
+                chosen.clear();
+                // Bounded retries keep the loop finite when the exponent is so steep that few courses are ever drawn
+                for (int attempt = 0; chosen.size() < count && attempt < count * 20; attempt++) {
+                    chosen.add(courseByRank[popularity.sample(random) - 1]);
+                }
+                for (int course : chosen) {
+                    long courseId = firstCourseId + course;
+                    LocalDateTime enrolledAt = LocalDateTime.now().minusMinutes(random.nextInt(365 * 24 * 60));
+                    boolean completed = random.nextInt(100) < 15;
+                    enrollmentRows.add(enrollmentId++, studentId, courseId, prices[course], Timestamp.valueOf(enrolledAt),
+                            completed ? notInFuture(enrolledAt.plusDays(1 + random.nextInt(90))) : null,
+                            completed ? "COMPLETED" : "ACTIVE");
+                    if (random.nextDouble() < feedbackRatio) {
+                        feedbackRows.add(feedbackId++, courseId, studentId, rating(), title(), text(20 + random.nextInt(120)),
+                                notInFuture(enrolledAt.plusDays(random.nextInt(60))));
+                    }
+                    if (random.nextDouble() < paymentRatio) {
+                        payment(paymentRows, paymentId++, studentId, courseId, prices[course], enrolledAt);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Aggregates the generated feedback into the rating summaries that setFeedback would have maintained.
+     */
+    private void insertRatingSummaries(long firstCourseId) {
+        int written = jdbcTemplate.update("INSERT INTO course_rating_summaries (course_id, rating_count, rating_sum, " +
+                "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count) " +
+                "SELECT course_id, COUNT(*), SUM(rating), SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END) " +
+                "FROM feedbacks WHERE course_id >= ? GROUP BY course_id", firstCourseId);
+        log.info("Generated {} rows in course_rating_summaries", written);
+    }
+
+    private void payment(Batch rows, long id, long userId, long courseId, BigDecimal price, LocalDateTime paidAt) {
+        rows.add(id, "order_gen_" + id, "pay_gen_" + id, "sig_gen_" + id, price.doubleValue(), "SUCCESS", "card",
+                Timestamp.valueOf(paidAt), userId, courseId);
+    }
+
+    // Skewed towards good ratings, like real course reviews
+    private int rating() {
+        int roll = random.nextInt(100);
+        return roll < 40 ? 5 : roll < 70 ? 4 : roll < 85 ? 3 : roll < 93 ? 2 : 1;
+    }
+
+    private String title() {
+        return capitalize(WORDS[random.nextInt(WORDS.length)]) + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                + WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String text(int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return capitalize(text.substring(0, length).trim());
+    }
+
+    private static String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private Timestamp pastTimestamp(int maxDaysAgo) {
+        return Timestamp.valueOf(LocalDateTime.now().minusMinutes(random.nextInt(maxDaysAgo * 24 * 60)));
+    }
+
+    // Completions and reviews follow the enrollment, which may itself be recent, so cap them at the present
+    private static Timestamp notInFuture(LocalDateTime time) {
+        LocalDateTime now = LocalDateTime.now();
+        return Timestamp.valueOf(time.isAfter(now) ? now : time);
+    }
+
+    private int[] shuffledIndexes(int n) {
+        int[] indexes = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexes[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /**
+     * Buffers rows for one INSERT statement and writes them as a JDBC batch every datagen.batch-size rows.
+     * A batch whose rows reference another one flushes that parent first, so foreign keys always resolve.
+     */
+    private class Batch implements AutoCloseable {
+
+        private final String table;
+        private final String sql;
+        private final Batch parent;
+        private final List<Object[]> rows = new ArrayList<>();
+        private long written;
+
+        Batch(String table, String sql) {
+            this(table, sql, null);
+        }
+
+        Batch(String table, String sql, Batch parent) {
+            this.table = table;
+            this.sql = sql;
+            this.parent = parent;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            if (parent != null) {
+                parent.flush();
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+            written += rows.size();
+            rows.clear();
+            if (written % (batchSize * 100L) == 0) {
+                log.info("Generated {} rows in {}", written, table);
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+            log.info("Generated {} rows in {}", written, table);
+        }
+    }
+}
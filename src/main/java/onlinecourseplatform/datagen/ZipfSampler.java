@@ -0,0 +1,46 @@
+package onlinecourseplatform.datagen;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks 1..n with probability proportional to 1 / rank^exponent, so a few ranks get most of the draws.
+ * Builds a cumulative table once (8 bytes per rank) and samples by binary search.
+ */
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf sampler needs at least one rank");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+    }
+
+    /**
+     * Returns a rank between 1 and n.
+     */
+    public int sample(RandomGenerator random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low + 1;
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
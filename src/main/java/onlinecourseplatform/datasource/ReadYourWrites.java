@@ -0,0 +1,62 @@
+package onlinecourseplatform.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes stickiness: after a user changes something, their reads go to the primary
+ * for a short window so they never see a replica that has not caught up with their own write.
+ * The window is tracked per application instance.
+ */
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Map<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long stickyNanos;
+    private final int maxTrackedUsers;
+
+    public ReadYourWrites(long stickySeconds, int maxTrackedUsers) {
+        this.stickyNanos = stickySeconds * 1_000_000_000L;
+        this.maxTrackedUsers = maxTrackedUsers;
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * Pins the current thread to the primary if the user wrote within the sticky window.
+     */
+    public void pinIfRecentWriter(Long userId) {
+        Long lastWrite = lastWriteNanos.get(userId);
+        if (lastWrite == null) {
+            return;
+        }
+        if (System.nanoTime() - lastWrite < stickyNanos) {
+            PINNED.set(Boolean.TRUE);
+        } else {
+            lastWriteNanos.remove(userId, lastWrite);
+        }
+    }
+
+    public void recordWrite(Long userId) {
+        if (lastWriteNanos.size() >= maxTrackedUsers) {
+            long now = System.nanoTime();
+            lastWriteNanos.values().removeIf(lastWrite -> now - lastWrite >= stickyNanos);
+        }
+        lastWriteNanos.put(userId, System.nanoTime());
+    }
+
+    /**
+     * Pins the current thread to the primary whoever the user is, e.g. for responses that must not be older
+     * than the primary's latest commit.
+     */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package onlinecourseplatform.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import onlinecourseplatform.security.CurrentUserContext;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Applies {@link ReadYourWrites} to web requests: a successful non-GET request counts as a write
+ * by the calling user, and that user's following requests read from the primary.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWrites readYourWrites;
+    private final CurrentUserContext currentUser;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (currentUser.isAuthenticated()) {
+            readYourWrites.pinIfRecentWriter(currentUser.getId());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWrites.unpin();
+        if (currentUser.isAuthenticated() && !READ_METHODS.contains(request.getMethod())
+                && ex == null && response.getStatus() < 400) {
+            readYourWrites.recordWrite(currentUser.getId());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package onlinecourseplatform.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls each replica's replication lag and keeps the list of replicas that are safe to read from.
+ * A replica is taken out of rotation when its lag exceeds the limit, replication has stopped,
+ * or it cannot be reached; it comes back as soon as a later check passes.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> healthy;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagSeconds) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        // Nothing is routed to a replica until the first check has passed
+        this.healthy = List.of();
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Round-robins over the healthy replicas; returns null when there are none.
+     */
+    public String nextHealthyReplica() {
+        List<String> current = healthy;
+        if (current.isEmpty()) {
+            return null;
+        }
+        return current.get(Math.floorMod(next.getAndIncrement(), current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:2000}")
+    public void checkLag() {
+        List<String> nowHealthy = replicas.entrySet().stream()
+                .filter(replica -> isWithinLag(replica.getKey(), replica.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!nowHealthy.equals(healthy)) {
+            log.info("Healthy read replicas changed from {} to {}", healthy, nowHealthy);
+        }
+        healthy = nowHealthy;
+    }
+
+    private boolean isWithinLag(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!status.next()) {
+                // Not configured as a replica (e.g. a local stand-in), so it cannot lag
+                return true;
+            }
+            long lag = status.getLong("Seconds_Behind_Source");
+            if (status.wasNull()) {
+                log.warn("Replication is not running on {}", name);
+                return false;
+            }
+            if (lag > maxLagSeconds) {
+                log.warn("Replica {} is {}s behind the primary (limit {}s)", name, lag, maxLagSeconds);
+                return false;
+            }
+            return true;
+        } catch (SQLException e) {
+            log.warn("Cannot check replication lag on {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
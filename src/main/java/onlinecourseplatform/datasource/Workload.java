@@ -0,0 +1,20 @@
+package onlinecourseplatform.datasource;
+
+/**
+ * Classes of database work, each served by its own connection pool so one cannot starve another.
+ */
+public enum Workload {
+    /** User lookups done while authenticating a request. */
+    AUTH,
+    /** Read-only transactions such as catalog browsing. */
+    CATALOG,
+    /** Interactive writes: enrollments, payments, course edits. */
+    WRITE,
+    /** Background and bulk work: imports, outbox relay, data generation. */
+    BATCH;
+
+    /** Pool name, also used as the "pool" tag of the Hikari metrics. */
+    public String poolName() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,7 @@
+package onlinecourseplatform.dto.projections;
+
+/**
+ * A per-course count, e.g. the number of enrollments.
+ */
+public record CourseCountView(Long courseId, Long count) {
+}
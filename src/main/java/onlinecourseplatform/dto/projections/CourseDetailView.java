@@ -0,0 +1,11 @@
+package onlinecourseplatform.dto.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Course columns of the full instructor view, selected without loading the Course entity.
+ */
+public record CourseDetailView(Long id, String title, String description, Long instructorId, BigDecimal price,
+                               LocalDateTime createdAt) {
+}
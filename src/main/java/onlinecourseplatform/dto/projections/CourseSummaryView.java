@@ -0,0 +1,9 @@
+package onlinecourseplatform.dto.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Course columns shown in catalog listings, selected without loading the Course entity.
+ */
+public record CourseSummaryView(Long id, String title, String description, BigDecimal price) {
+}
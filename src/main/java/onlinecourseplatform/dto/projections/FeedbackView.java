@@ -0,0 +1,10 @@
+package onlinecourseplatform.dto.projections;
+
+import java.time.LocalDateTime;
+
+/**
+ * Feedback columns shown in responses, with the course they belong to for grouping.
+ */
+public record FeedbackView(Long courseId, Long id, int rating, String review, String reviewTitle, int helpfulCount,
+                           LocalDateTime createdAt) {
+}
@@ -0,0 +1,7 @@
+package onlinecourseplatform.dto.projections;
+
+/**
+ * Module columns, selected without loading the Module entity or its content.
+ */
+public record ModuleView(Long id, Long courseId, String moduleName) {
+}
@@ -19,5 +19,5 @@ public class BasicCourseDetailsResponse {
     private BigDecimal price;
     private int noOfStudentsEnrolled;
     private List<String> moduleNames;
-    private List<FeedbackResponseDTO> feedbackList;
+    private RatingSummaryDTO ratingSummary;
 }
\ No newline at end of file
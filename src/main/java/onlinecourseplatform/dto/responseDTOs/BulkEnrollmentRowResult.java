@@ -0,0 +1,26 @@
+package onlinecourseplatform.dto.responseDTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Response DTO
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkEnrollmentRowResult {
+    private int line;
+    private Long studentId;
+    private Long courseId;
+    private Outcome outcome;
+
+    public enum Outcome {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        STUDENT_NOT_FOUND,
+        COURSE_NOT_FOUND,
+        INVALID_ROW
+    }
+}
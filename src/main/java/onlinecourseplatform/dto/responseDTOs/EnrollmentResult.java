@@ -0,0 +1,8 @@
+package onlinecourseplatform.dto.responseDTOs;
+
+/**
+ * Outcome of an enroll call: the enrollment and whether this call (or the original request
+ * it replays via Idempotency-Key) created it.
+ */
+public record EnrollmentResult(EnrollmentResponseDTO enrollment, boolean created) {
+}
@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class FeedbackResponseDTO {
+    private Long id;
     private int rating;
     private String review;
     private String reviewTitle;
+    private int helpfulCount;
+    private LocalDateTime createdAt;
 }
\ No newline at end of file
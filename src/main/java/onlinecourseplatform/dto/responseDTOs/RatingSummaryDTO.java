@@ -0,0 +1,19 @@
+package onlinecourseplatform.dto.responseDTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Response DTO
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RatingSummaryDTO {
+    private double averageRating; // Rounded to two decimals, 0 when there are no ratings
+    private long ratingCount;
+    private Map<Integer, Long> histogram; // Stars (1 to 5) -> number of ratings
+}
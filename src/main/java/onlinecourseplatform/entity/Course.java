@@ -2,18 +2,26 @@ package onlinecourseplatform.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = @Index(name = "idx_course_instructor", columnList = "instructor_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@NamedEntityGraph(name = Course.WITH_MODULES, attributeNodes = @NamedAttributeNode("modules"))
 public class Course {
 
+    /**
+     * Fetches the modules with the course. Only one collection is joined, since Hibernate cannot join fetch
+     * several bags at once; the others, and the modules' videos and documents, are loaded in batches.
+     */
+    public static final String WITH_MODULES = "Course.withModules";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,15 +39,18 @@ public class Course {
     private BigDecimal price;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Feedback> feedbackList;
 
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Module> modules;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Enrollment> enrollmentList;
 }
 
@@ -0,0 +1,57 @@
+package onlinecourseplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals of a course's ratings, updated in the same transaction as each new feedback
+ * so listings never have to aggregate the feedbacks table.
+ */
+@Entity
+@Table(name = "course_rating_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CourseRatingSummary {
+
+    @Id
+    private Long courseId;
+
+    private long ratingCount;
+
+    private long ratingSum;
+
+    private long oneStarCount;
+
+    private long twoStarCount;
+
+    private long threeStarCount;
+
+    private long fourStarCount;
+
+    private long fiveStarCount;
+
+    public static CourseRatingSummary empty(Long courseId) {
+        return CourseRatingSummary.builder().courseId(courseId).build();
+    }
+
+    /**
+     * Counts one more rating of 1 to 5 stars.
+     */
+    public void add(int rating) {
+        switch (rating) {
+            case 1 -> oneStarCount++;
+            case 2 -> twoStarCount++;
+            case 3 -> threeStarCount++;
+            case 4 -> fourStarCount++;
+            case 5 -> fiveStarCount++;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+        ratingCount++;
+        ratingSum += rating;
+    }
+}
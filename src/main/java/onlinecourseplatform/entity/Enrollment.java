@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments",
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_student_course", columnNames = {"student_id", "course_id"}),
+        indexes = @Index(name = "idx_enrollment_course_student", columnList = "course_id, student_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
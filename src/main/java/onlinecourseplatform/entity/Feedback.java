@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedbacks")
+@Table(name = "feedbacks", indexes = {
+        @Index(name = "idx_feedback_course_student", columnList = "course_id, student_id"),
+        @Index(name = "idx_feedback_course_created", columnList = "course_id, created_at"),
+        @Index(name = "idx_feedback_course_helpful", columnList = "course_id, helpful_count")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,4 +40,7 @@ public class Feedback {
 
     @Column(updatable = false)
     private LocalDateTime createdAt; // Timestamp for when the feedback was created
+
+    @Column(nullable = false)
+    private int helpfulCount; // Number of users who marked this feedback as helpful
 }
\ No newline at end of file
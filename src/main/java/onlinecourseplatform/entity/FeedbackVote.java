@@ -0,0 +1,35 @@
+package onlinecourseplatform.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user marking a review as helpful; the unique key allows one vote per user and review.
+ */
+@Entity
+@Table(name = "feedback_votes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_feedback_vote", columnNames = {"feedback_id", "user_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeedbackVote {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long feedbackId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -5,6 +5,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(name = "payment", indexes = @Index(name = "idx_payment_user_course", columnList = "user_id, course_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
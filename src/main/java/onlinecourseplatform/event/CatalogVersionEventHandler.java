@@ -0,0 +1,29 @@
+package onlinecourseplatform.event;
+
+import lombok.RequiredArgsConstructor;
+import onlinecourseplatform.httpcache.CatalogVersions;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Moves a course to a new catalog version when its enrollment count or rating changes. A redelivered event
+ * only bumps the version once more, which costs clients one extra full response.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionEventHandler implements DomainEventHandler {
+
+    private final CatalogVersions catalogVersions;
+
+    @Override
+    public Set<DomainEventType> eventTypes() {
+        return Set.of(DomainEventType.ENROLLMENT_CREATED, DomainEventType.ENROLLMENTS_IMPORTED,
+                DomainEventType.FEEDBACK_SUBMITTED);
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        catalogVersions.bumpCourse(event.getLong("courseId"));
+    }
+}
@@ -0,0 +1,20 @@
+package onlinecourseplatform.event;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A committed domain event as delivered to {@link DomainEventHandler}s.
+ * The ID is stable across redeliveries, so handlers can use it to deduplicate.
+ */
+public record DomainEvent(Long id, DomainEventType type, Long aggregateId, Map<String, Object> payload,
+                          LocalDateTime createdAt) {
+
+    /**
+     * Reads a numeric payload field as a Long.
+     */
+    public Long getLong(String key) {
+        Object value = payload.get(key);
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,18 @@
+package onlinecourseplatform.event;
+
+import java.util.Set;
+
+/**
+ * In-process consumer of domain events drained from the outbox by {@link OutboxRelay}.
+ * Delivery is at-least-once: an event is redelivered if any handler fails or the relay dies mid-batch,
+ * so implementations must be idempotent.
+ */
+public interface DomainEventHandler {
+
+    /**
+     * Event types this handler wants to receive.
+     */
+    Set<DomainEventType> eventTypes();
+
+    void handle(DomainEvent event);
+}
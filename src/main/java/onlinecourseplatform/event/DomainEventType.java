@@ -0,0 +1,9 @@
+package onlinecourseplatform.event;
+
+public enum DomainEventType {
+    ENROLLMENT_CREATED,
+    ENROLLMENTS_IMPORTED,
+    COURSE_COMPLETED,
+    FEEDBACK_SUBMITTED,
+    PAYMENT_SUCCEEDED
+}
@@ -0,0 +1,118 @@
+package onlinecourseplatform.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import onlinecourseplatform.datasource.Workload;
+import onlinecourseplatform.datasource.WorkloadContext;
+import onlinecourseplatform.entity.OutboxEvent;
+import onlinecourseplatform.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drains the outbox in batches and dispatches each event to the registered {@link DomainEventHandler}s.
+ * An event is marked processed only after every handler succeeded; otherwise it is retried on a later pass
+ * until outbox.relay.max-attempts is reached. Handlers run in their own transaction per event, so one
+ * failing event cannot roll back the bookkeeping of the rest of the batch.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate handlerTransaction;
+    private final ObjectMapper objectMapper;
+    private final Map<DomainEventType, List<DomainEventHandler>> handlersByType = new EnumMap<>(DomainEventType.class);
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.retention-days:7}")
+    private int retentionDays;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, PlatformTransactionManager transactionManager,
+                       ObjectMapper objectMapper, List<DomainEventHandler> handlers) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.handlerTransaction = new TransactionTemplate(transactionManager);
+        this.handlerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        for (DomainEventHandler handler : handlers) {
+            handler.eventTypes().forEach(type -> handlersByType.computeIfAbsent(type, t -> new ArrayList<>()).add(handler));
+        }
+    }
+
+    /**
+     * Processes batches until a batch comes back short or with failures.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void drain() {
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BATCH)) {
+            Integer delivered;
+            do {
+                delivered = batchTransaction.execute(status -> relayBatch());
+            } while (delivered != null && delivered == batchSize);
+        }
+    }
+
+    /**
+     * Deletes processed events older than the retention period.
+     */
+    @Scheduled(cron = "${outbox.relay.purge-cron:0 0 3 * * *}")
+    public void purge() {
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BATCH)) {
+            Integer deleted = batchTransaction.execute(status ->
+                    outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+            log.info("Purged {} processed outbox events", deleted);
+        }
+    }
+
+    /**
+     * Locks one batch of pending events and dispatches them. Returns how many were delivered.
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockPending(maxAttempts, PageRequest.of(0, batchSize));
+        int delivered = 0;
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                DomainEvent event = new DomainEvent(outboxEvent.getId(), outboxEvent.getEventType(),
+                        outboxEvent.getAggregateId(), objectMapper.readValue(outboxEvent.getPayload(), PAYLOAD_TYPE),
+                        outboxEvent.getCreatedAt());
+                handlerTransaction.executeWithoutResult(status -> {
+                    for (DomainEventHandler handler : handlersByType.getOrDefault(event.type(), List.of())) {
+                        handler.handle(event);
+                    }
+                });
+                outboxEvent.setProcessedAt(LocalDateTime.now());
+                delivered++;
+            } catch (Exception e) {
+                outboxEvent.setAttempts(outboxEvent.getAttempts() + 1);
+                outboxEvent.setLastError(e.getClass().getSimpleName() + ": " + e.getMessage());
+                log.warn("Outbox event {} ({}) failed on attempt {}: {}", outboxEvent.getId(),
+                        outboxEvent.getEventType(), outboxEvent.getAttempts(), e.getMessage());
+            }
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,122 @@
+package onlinecourseplatform.httpcache;
+
+import io.opentelemetry.api.trace.SpanKind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import onlinecourseplatform.observability.Spans;
+import onlinecourseplatform.utility.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Version counters that validate cached catalog responses, kept in Redis so every instance agrees.
+ * Each course has a counter bumped whenever its public view may change (edits, enrollments, feedback), and
+ * the catalog as a whole has one bumped along with any course. Versions are prefixed with an epoch that is
+ * re-created after Redis loses its data, so counters restarting from zero never match an old ETag.
+ * Reads only ever create the epoch key, never per-course keys, so unknown course IDs leave nothing behind.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogVersions {
+
+    private static final String EPOCH_KEY = "CATALOG_EPOCH";
+    private static final String CATALOG_KEY = "CATALOG_VERSION";
+    private static final String COURSE_PREFIX = "COURSE_VERSION:";
+    private static final String VERSION = "version";
+    private static final String MODIFIED = "modified";
+
+    /**
+     * A version tag plus the time it last changed, in epoch milliseconds.
+     */
+    public record Version(String tag, long lastModified) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Spans spans;
+
+    @Value("${app.http-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Version of the catalog as a whole; empty if Redis is unavailable.
+     */
+    public Optional<Version> catalog() {
+        return read(CATALOG_KEY);
+    }
+
+    /**
+     * Version of one course's public view and reviews; empty if Redis is unavailable.
+     */
+    public Optional<Version> course(Long courseId) {
+        return read(COURSE_PREFIX + courseId);
+    }
+
+    /**
+     * Moves the course and the catalog to a new version once the surrounding transaction commits, so no reader
+     * can pair the new version with the old data. A failed bump is logged; responses then stay valid until
+     * the next bump or until their max-age runs out.
+     */
+    public void bumpCourse(Long courseId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            String now = Long.toString(System.currentTimeMillis());
+            try {
+                spans.inSpan("CatalogVersions.bumpCourse", SpanKind.CLIENT, () ->
+                        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                            StringRedisConnection redis = (StringRedisConnection) connection;
+                            for (String key : List.of(COURSE_PREFIX + courseId, CATALOG_KEY)) {
+                                redis.hIncrBy(key, VERSION, 1);
+                                redis.hSet(key, MODIFIED, now);
+                            }
+                            return null;
+                        }));
+                log.debug("Bumped catalog version of course {}", courseId);
+            } catch (DataAccessException e) {
+                log.warn("Could not bump catalog version of course {}: {}", courseId, e.getMessage());
+            }
+        });
+    }
+
+    private Optional<Version> read(String key) {
+        try {
+            return Optional.of(spans.inSpan("CatalogVersions.read", SpanKind.CLIENT, () -> {
+                List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    redis.get(EPOCH_KEY);
+                    redis.hMGet(key, VERSION, MODIFIED);
+                    return null;
+                });
+                String epoch = (String) results.get(0);
+                if (epoch == null) {
+                    epoch = createEpoch();
+                }
+                List<?> fields = (List<?>) results.get(1);
+                String version = (String) fields.get(0);
+                String modified = (String) fields.get(1);
+                return new Version(epoch + "-" + (version != null ? version : "0"),
+                        Long.parseLong(modified != null ? modified : epoch));
+            }));
+        } catch (DataAccessException e) {
+            log.debug("Catalog versions unavailable, serving {} without validators: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Starts a new epoch at the current time unless another instance just did.
+     */
+    private String createEpoch() {
+        redisTemplate.opsForValue().setIfAbsent(EPOCH_KEY, Long.toString(System.currentTimeMillis()));
+        return redisTemplate.opsForValue().get(EPOCH_KEY);
+    }
+}
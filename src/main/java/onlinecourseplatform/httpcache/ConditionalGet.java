@@ -0,0 +1,27 @@
+package onlinecourseplatform.httpcache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public GET endpoint whose anonymous responses are validated by a {@link CatalogVersions} counter,
+ * so {@link ConditionalGetInterceptor} can answer conditional requests before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * Which counter the response depends on.
+     */
+    Scope value();
+
+    enum Scope {
+        /** The whole catalog: any course changing changes the response. */
+        CATALOG,
+        /** The course named by the {id} path variable. */
+        COURSE
+    }
+}
@@ -0,0 +1,87 @@
+package onlinecourseplatform.httpcache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import onlinecourseplatform.datasource.ReadYourWrites;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Adds a weak ETag, Last-Modified and Cache-Control to anonymous GETs of {@link ConditionalGet} endpoints and
+ * answers If-None-Match/If-Modified-Since with 304 before the handler touches the database. Requests carrying
+ * credentials pass through untouched, since instructors see a different view of the same URL.
+ * <p>
+ * Versions are bumped once the primary commits, so for a short while a lagging replica could still serve the
+ * old data under the new ETag, and clients would keep revalidating it until the course changed again. Handlers
+ * that run within the replica lag window after a bump therefore read from the primary; all others stay on replicas.
+ */
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final CatalogVersions catalogVersions;
+    private final CacheControl cacheControl;
+    private final long replicaLagMillis;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method) || request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            return true;
+        }
+        ConditionalGet conditionalGet = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+
+        String prefix = conditionalGet.value().name().toLowerCase(Locale.ROOT);
+        Optional<CatalogVersions.Version> version;
+        if (conditionalGet.value() == ConditionalGet.Scope.CATALOG) {
+            version = catalogVersions.catalog();
+        } else {
+            Long courseId = courseId(request);
+            if (courseId == null) {
+                return true; // Let the handler reject the malformed ID
+            }
+            prefix += "-" + courseId;
+            version = catalogVersions.course(courseId);
+        }
+        if (version.isEmpty()) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.AUTHORIZATION);
+        String etag = "W/\"" + prefix + "-" + version.get().tag() + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(etag, version.get().lastModified())) {
+            return false;
+        }
+        if (System.currentTimeMillis() - version.get().lastModified() < replicaLagMillis) {
+            ReadYourWrites.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWrites.unpin();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long courseId(HttpServletRequest request) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        try {
+            return variables == null ? null : Long.valueOf(variables.get("id"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
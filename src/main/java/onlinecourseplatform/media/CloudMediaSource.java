@@ -0,0 +1,30 @@
+package onlinecourseplatform.media;
+
+import onlinecourseplatform.service.CloudUrlProcessorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+
+/**
+ * Reads media from Google Drive, Dropbox or any plain HTTP URL.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "media.source", havingValue = "cloud", matchIfMissing = true)
+public class CloudMediaSource implements MediaSource {
+
+    private final CloudUrlProcessorService cloudUrlProcessor;
+
+    @Override
+    public InputStream open(String url) throws IOException {
+        String directUrl = cloudUrlProcessor.getDirectDownloadUrl(url);
+        URLConnection connection = URI.create(directUrl).toURL().openConnection();
+        connection.setRequestProperty("User-Agent", "Mozilla/5.0");
+        return connection.getInputStream();
+    }
+}
@@ -0,0 +1,76 @@
+package onlinecourseplatform.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Remuxes the source into MPEG-TS segments with ffmpeg, cutting only at keyframes and copying the streams
+ * without re-encoding. ffmpeg reports each finished segment on stdout (as a CSV segment list), so segments
+ * are handed on while later ones are still being cut. Sources whose codecs MPEG-TS cannot carry
+ * (anything other than e.g. H.264/AAC) fail to package and are only available as the original file.
+ */
+@Component
+public class FfmpegSegmenter implements VideoSegmenter {
+
+    private final String ffmpegPath;
+    private final int segmentSeconds;
+
+    public FfmpegSegmenter(@Value("${media.hls.ffmpeg-path:ffmpeg}") String ffmpegPath,
+                           @Value("${media.hls.segment-seconds:6}") int segmentSeconds) {
+        this.ffmpegPath = ffmpegPath;
+        this.segmentSeconds = segmentSeconds;
+    }
+
+    @Override
+    public void segment(InputStream source, SegmentSink sink) throws IOException {
+        Path workDir = Files.createTempDirectory("hls-");
+        Process process = null;
+        try {
+            // MP4 files often keep their index at the end, so ffmpeg needs a seekable file rather than a pipe
+            Path input = workDir.resolve("source");
+            Files.copy(source, input);
+            Path errors = workDir.resolve("ffmpeg.log");
+            process = new ProcessBuilder(List.of(ffmpegPath, "-hide_banner", "-loglevel", "error", "-nostdin",
+                    "-i", input.toString(),
+                    "-map", "0:v:0", "-map", "0:a:0?", "-c", "copy",
+                    "-f", "segment", "-segment_format", "mpegts", "-segment_time", Integer.toString(segmentSeconds),
+                    "-segment_list", "pipe:1", "-segment_list_type", "csv",
+                    workDir.resolve("seg_%05d.ts").toString()))
+                    .redirectError(errors.toFile())
+                    .start();
+
+            int index = 0;
+            try (BufferedReader segmentList = process.inputReader()) {
+                String entry;
+                while ((entry = segmentList.readLine()) != null) {
+                    // name,start,end
+                    String[] fields = entry.split(",");
+                    Path segment = workDir.resolve(fields[0]);
+                    double durationSeconds = Double.parseDouble(fields[2]) - Double.parseDouble(fields[1]);
+                    sink.accept(index++, Files.readAllBytes(segment), durationSeconds);
+                    Files.delete(segment);
+                }
+            }
+            int exitCode = process.waitFor();
+            if (exitCode != 0 || index == 0) {
+                throw new IOException("ffmpeg exited with " + exitCode + ": " + Files.readString(errors).strip());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while segmenting", e);
+        } finally {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+            FileSystemUtils.deleteRecursively(workDir);
+        }
+    }
+}
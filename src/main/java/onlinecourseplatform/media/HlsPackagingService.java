@@ -0,0 +1,106 @@
+package onlinecourseplatform.media;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Produces and serves HLS renditions of course videos.
+ * A newly added video is fetched through the configured {@link MediaSource}, split by the
+ * {@link VideoSegmenter} and written to the {@link LocalContentStore}. The playlist is rewritten after
+ * every segment (as an EVENT playlist) so players can start before packaging finishes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HlsPackagingService {
+
+    private final MediaSource mediaSource;
+    private final VideoSegmenter segmenter;
+    private final LocalContentStore contentStore;
+
+    @Value("${media.hls.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Packages a video once the transaction that created it has committed.
+     */
+    @Async("mediaTaskExecutor")
+    @TransactionalEventListener
+    public void onVideoAdded(VideoAddedEvent event) {
+        if (enabled) {
+            packageVideo(event.videoId(), event.url());
+        }
+    }
+
+    /**
+     * Removes stored renditions of deleted videos.
+     */
+    @TransactionalEventListener
+    public void onVideosRemoved(VideosRemovedEvent event) {
+        event.videoIds().forEach(contentStore::delete);
+    }
+
+    /**
+     * Fetches, segments and stores a video, publishing the playlist as segments become available.
+     */
+    public void packageVideo(Long videoId, String url) {
+        List<Double> durations = new ArrayList<>();
+        try (InputStream source = mediaSource.open(url)) {
+            segmenter.segment(source, (index, data, durationSeconds) -> {
+                contentStore.writeSegment(videoId, LocalContentStore.segmentName(index), data);
+                durations.add(durationSeconds);
+                contentStore.writeManifest(videoId, renderPlaylist(durations, false));
+            });
+            contentStore.writeManifest(videoId, renderPlaylist(durations, true));
+            log.info("Packaged video {} into {} HLS segments", videoId, durations.size());
+        } catch (IOException e) {
+            // Never leave a partial playlist behind: players would treat it as a live stream that stalls
+            contentStore.delete(videoId);
+            log.error("Failed to package video {}: {}", videoId, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the playlist of a video. When a query string is given (e.g. a signed URL's uid/exp/sig)
+     * it is appended to every segment URI so segment requests carry the same credentials.
+     */
+    public Optional<String> manifest(Long videoId, String segmentQuery) throws IOException {
+        Optional<String> manifest = contentStore.readManifest(videoId);
+        if (segmentQuery == null || segmentQuery.isEmpty()) {
+            return manifest;
+        }
+        return manifest.map(playlist -> playlist.lines()
+                .map(line -> line.isEmpty() || line.startsWith("#") ? line : line + "?" + segmentQuery)
+                .collect(Collectors.joining("\n", "", "\n")));
+    }
+
+    private String renderPlaylist(List<Double> durations, boolean complete) {
+        double longest = durations.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        StringBuilder playlist = new StringBuilder()
+                .append("#EXTM3U\n")
+                .append("#EXT-X-VERSION:3\n")
+                .append("#EXT-X-TARGETDURATION:").append((int) Math.ceil(longest)).append('\n')
+                .append("#EXT-X-MEDIA-SEQUENCE:0\n")
+                .append("#EXT-X-PLAYLIST-TYPE:").append(complete ? "VOD" : "EVENT").append('\n');
+        for (int i = 0; i < durations.size(); i++) {
+            playlist.append(String.format(Locale.ROOT, "#EXTINF:%.3f,", durations.get(i))).append('\n')
+                    .append(LocalContentStore.segmentName(i)).append('\n');
+        }
+        if (complete) {
+            playlist.append("#EXT-X-ENDLIST\n");
+        }
+        return playlist.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package onlinecourseplatform.media;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stores HLS renditions on local disk, one directory per video: {root}/{videoId}/index.m3u8 and seg_NNNNN.ts.
+ * Files are written to a temp file and moved into place so readers never see a partial segment or playlist.
+ */
+@Slf4j
+@Component
+public class LocalContentStore {
+
+    public static final String MANIFEST_NAME = "index.m3u8";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("seg_\\d{5}\\.ts");
+
+    private final Path root;
+
+    public LocalContentStore(@Value("${media.store.path:./media-store}") Path root) {
+        this.root = root;
+    }
+
+    /**
+     * File name of the segment at the given position.
+     */
+    public static String segmentName(int index) {
+        return String.format(Locale.ROOT, "seg_%05d.ts", index);
+    }
+
+    public void writeSegment(Long videoId, String name, byte[] data) throws IOException {
+        writeAtomically(videoDir(videoId).resolve(name), data);
+    }
+
+    public void writeManifest(Long videoId, String manifest) throws IOException {
+        writeAtomically(videoDir(videoId).resolve(MANIFEST_NAME), manifest.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the playlist of a video, or empty if packaging has not produced one yet.
+     */
+    public Optional<String> readManifest(Long videoId) throws IOException {
+        Path manifest = videoDir(videoId).resolve(MANIFEST_NAME);
+        if (!Files.exists(manifest)) {
+            return Optional.empty();
+        }
+        return Optional.of(Files.readString(manifest));
+    }
+
+    /**
+     * Returns a stored segment. Only names produced by {@link #segmentName(int)} are accepted.
+     */
+    public Optional<Resource> segment(Long videoId, String name) {
+        if (!SEGMENT_NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path segment = videoDir(videoId).resolve(name);
+        return Files.exists(segment) ? Optional.of(new FileSystemResource(segment)) : Optional.empty();
+    }
+
+    /**
+     * Removes every file stored for a video.
+     */
+    public void delete(Long videoId) {
+        try {
+            FileSystemUtils.deleteRecursively(videoDir(videoId));
+        } catch (IOException e) {
+            log.warn("Could not delete stored media for video {}: {}", videoId, e.getMessage());
+        }
+    }
+
+    private Path videoDir(Long videoId) {
+        return root.resolve(String.valueOf(videoId));
+    }
+
+    private void writeAtomically(Path target, byte[] data) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        Files.write(temp, data);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
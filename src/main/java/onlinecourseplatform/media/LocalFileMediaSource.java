@@ -0,0 +1,33 @@
+package onlinecourseplatform.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads media from a local directory instead of the cloud. The last path segment of the
+ * video URL is used as the file name, so seeded cloud URLs resolve to local stand-in files.
+ */
+@Component
+@ConditionalOnProperty(name = "media.source", havingValue = "local")
+public class LocalFileMediaSource implements MediaSource {
+
+    private final Path baseDir;
+
+    public LocalFileMediaSource(@Value("${media.source.local-dir:./media-source}") Path baseDir) {
+        this.baseDir = baseDir;
+    }
+
+    @Override
+    public InputStream open(String url) throws IOException {
+        String path = URI.create(url).getPath();
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        return Files.newInputStream(baseDir.resolve(fileName));
+    }
+}
@@ -0,0 +1,16 @@
+package onlinecourseplatform.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Where the media pipeline reads original video bytes from.
+ * Production reads from the cloud share link stored on the Video; tests and local runs can read from disk.
+ */
+public interface MediaSource {
+
+    /**
+     * Opens the original media behind the given URL. The caller closes the stream.
+     */
+    InputStream open(String url) throws IOException;
+}
@@ -0,0 +1,7 @@
+package onlinecourseplatform.media;
+
+/**
+ * Published when a video is saved, so its HLS rendition can be produced after the transaction commits.
+ */
+public record VideoAddedEvent(Long videoId, String url) {
+}
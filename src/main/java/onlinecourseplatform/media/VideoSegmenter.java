@@ -0,0 +1,24 @@
+package onlinecourseplatform.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits a source video into HLS segments.
+ */
+public interface VideoSegmenter {
+
+    /**
+     * Reads the source and hands every segment to the sink as soon as it is complete,
+     * so the first segment can be served while the rest is still being produced.
+     */
+    void segment(InputStream source, SegmentSink sink) throws IOException;
+
+    /**
+     * Receives segments in playback order.
+     */
+    @FunctionalInterface
+    interface SegmentSink {
+        void accept(int index, byte[] data, double durationSeconds) throws IOException;
+    }
+}
@@ -0,0 +1,9 @@
+package onlinecourseplatform.media;
+
+import java.util.List;
+
+/**
+ * Published when videos are deleted, so their stored renditions can be cleaned up after commit.
+ */
+public record VideosRemovedEvent(List<Long> videoIds) {
+}
@@ -0,0 +1,77 @@
+package onlinecourseplatform.observability;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opens a span named Repository.method around every Spring Data repository call, tagged with db.system as
+ * reported by the database product name (mysql, mariadb, h2).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryTracingAspect {
+
+    private final Spans spans;
+    private final DataSource dataSource;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+    private volatile String dbSystem;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object trace(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = spans.start(repositoryName(joinPoint) + "." + joinPoint.getSignature().getName(), SpanKind.CLIENT);
+        String system = dbSystem();
+        if (system != null) {
+            span.setAttribute("db.system", system);
+        }
+        try (Scope ignored = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            Spans.fail(span, e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    // Repositories are JDK proxies, so name the span after the application interface the proxy implements
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        return repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(), proxyClass -> {
+            for (Class<?> type : proxyClass.getInterfaces()) {
+                if (type.getPackageName().startsWith("onlinecourseplatform")) {
+                    return type.getSimpleName();
+                }
+            }
+            return joinPoint.getSignature().getDeclaringType().getSimpleName();
+        });
+    }
+
+    // Read once from the connection metadata; left unset while the database cannot be reached
+    private String dbSystem() {
+        String system = dbSystem;
+        if (system == null) {
+            try {
+                system = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName)
+                        .toLowerCase(Locale.ROOT);
+            } catch (MetaDataAccessException e) {
+                return null;
+            }
+            dbSystem = system;
+        }
+        return system;
+    }
+}
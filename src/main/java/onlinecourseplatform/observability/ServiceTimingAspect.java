@@ -0,0 +1,53 @@
+package onlinecourseplatform.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every public method of the service layer as app.service, tagged with class, method and outcome.
+ * Controllers are covered by http.server.requests and repositories by spring.data.repository.invocations.
+ * Timers are cached per method and outcome, so the hot path skips the registry lookup.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    public static final String METRIC = "app.service";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    @Around("within(onlinecourseplatform.service..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(timer((MethodSignature) joinPoint.getSignature(), outcome));
+        }
+    }
+
+    private Timer timer(MethodSignature signature, String outcome) {
+        return timers.computeIfAbsent(signature.getMethod(), method -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> Timer.builder(METRIC)
+                        .tag("class", signature.getDeclaringType().getSimpleName())
+                        .tag("method", signature.getName())
+                        .tag("outcome", key)
+                        .register(meterRegistry));
+    }
+}
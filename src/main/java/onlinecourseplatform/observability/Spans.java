@@ -0,0 +1,55 @@
+package onlinecourseplatform.observability;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates OpenTelemetry spans for the application's own instrumentation points.
+ * Spans nest under the current HTTP request span; with tracing disabled they are no-ops.
+ */
+@Component
+public class Spans {
+
+    public static final String INSTRUMENTATION_NAME = "onlinecourseplatform";
+
+    private final Tracer tracer;
+
+    public Spans(ObjectProvider<OpenTelemetry> openTelemetry) {
+        this.tracer = openTelemetry.getIfAvailable(OpenTelemetry::noop).getTracer(INSTRUMENTATION_NAME);
+    }
+
+    /**
+     * Starts a span; the caller makes it current, ends it, and reports failures with {@link #fail}.
+     */
+    public Span start(String name, SpanKind kind) {
+        return tracer.spanBuilder(name).setSpanKind(kind).startSpan();
+    }
+
+    /**
+     * Runs work that throws no checked exceptions inside a span.
+     */
+    public <T> T inSpan(String name, SpanKind kind, Supplier<T> work) {
+        Span span = start(name, kind);
+        try (Scope ignored = span.makeCurrent()) {
+            return work.get();
+        } catch (RuntimeException e) {
+            fail(span, e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    public static void fail(Span span, Throwable error) {
+        span.recordException(error);
+        span.setStatus(StatusCode.ERROR);
+    }
+}
@@ -0,0 +1,23 @@
+package onlinecourseplatform.observability;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing setup beyond Spring Boot's defaults. Spans are exported over OTLP when
+ * management.otlp.tracing.endpoint is set; the log exporter is for local runs without a collector.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Writes finished spans to the application log; OTLP export is configured with management.otlp.tracing.endpoint.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.log-exporter.enabled", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
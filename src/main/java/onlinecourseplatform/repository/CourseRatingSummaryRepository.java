@@ -0,0 +1,27 @@
+package onlinecourseplatform.repository;
+
+import onlinecourseplatform.entity.CourseRatingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourseRatingSummaryRepository extends JpaRepository<CourseRatingSummary, Long> {
+
+    // Creates the course's summary with its first rating or adds to it, as one atomic statement so
+    // concurrent submissions cannot lose an update
+    @Modifying
+    @Query(value = "INSERT INTO course_rating_summaries (course_id, rating_count, rating_sum, one_star_count, " +
+            "two_star_count, three_star_count, four_star_count, five_star_count) " +
+            "VALUES (:courseId, 1, :rating, CASE WHEN :rating = 1 THEN 1 ELSE 0 END, CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+            "CASE WHEN :rating = 3 THEN 1 ELSE 0 END, CASE WHEN :rating = 4 THEN 1 ELSE 0 END, CASE WHEN :rating = 5 THEN 1 ELSE 0 END) " +
+            "ON DUPLICATE KEY UPDATE rating_count = rating_count + 1, rating_sum = rating_sum + :rating, " +
+            "one_star_count = one_star_count + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+            "two_star_count = two_star_count + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+            "three_star_count = three_star_count + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+            "four_star_count = four_star_count + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+            "five_star_count = five_star_count + CASE WHEN :rating = 5 THEN 1 ELSE 0 END",
+            nativeQuery = true)
+    int addRating(Long courseId, int rating);
+}
@@ -1,18 +1,45 @@
 package onlinecourseplatform.repository;
 
+import onlinecourseplatform.dto.projections.CourseDetailView;
+import onlinecourseplatform.dto.projections.CourseSummaryView;
 import onlinecourseplatform.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByInstructorId(Long instructorId);
+
+    @EntityGraph(Course.WITH_MODULES)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<Course> findWithModulesById(Long id);
     @Query("SELECT c FROM Course c WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<Course> searchCoursesByTitleOrDescription(@Param("query") String query);
 
+    // Column projections for list endpoints; they read only the courses row, never the collections
+    @Query("SELECT new onlinecourseplatform.dto.projections.CourseSummaryView(c.id, c.title, c.description, c.price) FROM Course c ORDER BY c.id")
+    List<CourseSummaryView> findAllSummaries();
+
+    @Query("SELECT new onlinecourseplatform.dto.projections.CourseSummaryView(c.id, c.title, c.description, c.price) FROM Course c WHERE c.id IN :ids")
+    List<CourseSummaryView> findSummariesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new onlinecourseplatform.dto.projections.CourseSummaryView(c.id, c.title, c.description, c.price) FROM Course c " +
+            "WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(c.description) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY c.id")
+    List<CourseSummaryView> searchSummaries(@Param("query") String query);
+
+    @Query("SELECT new onlinecourseplatform.dto.projections.CourseDetailView(c.id, c.title, c.description, c.instructorId, c.price, c.createdAt) " +
+            "FROM Course c WHERE c.instructorId = :instructorId ORDER BY c.id")
+    List<CourseDetailView> findDetailsByInstructorId(Long instructorId);
+
 }
 
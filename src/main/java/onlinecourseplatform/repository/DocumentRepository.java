@@ -1,8 +1,16 @@
 package onlinecourseplatform.repository;
 
+import onlinecourseplatform.dto.responseDTOs.DocumentResponseDTO;
 import onlinecourseplatform.entity.Document;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     void deleteByModuleId(Long id);
+
+    @Query("SELECT new onlinecourseplatform.dto.responseDTOs.DocumentResponseDTO(d.module.id, d.URL, d.filename) FROM Document d WHERE d.module.id IN :moduleIds ORDER BY d.id")
+    List<DocumentResponseDTO> findViewsByModuleIdIn(Collection<Long> moduleIds);
 }
@@ -1,12 +1,16 @@
 package onlinecourseplatform.repository;
 
-import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.dto.projections.CourseCountView;
+import onlinecourseplatform.dto.projections.CourseSummaryView;
+import onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO;
 import onlinecourseplatform.entity.Enrollment;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,14 +20,33 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     Enrollment findByStudentIdAndCourseId(Long userId, Long courseId);
 
-    List<Enrollment> findAllByStudentId(Long studentId);
+    @Query("SELECT new onlinecourseplatform.dto.projections.CourseSummaryView(c.id, c.title, c.description, c.price) " +
+            "FROM Enrollment e JOIN e.course c WHERE e.studentId = :studentId ORDER BY e.id")
+    List<CourseSummaryView> findCourseSummariesByStudentId(Long studentId);
 
-    @Query("SELECT e.course FROM Enrollment e WHERE e.studentId = :studentId")
-    List<Course> findCoursesByStudentId(Long studentId);
+    // Grouped on the course_id column, so ranking does not read the courses table at all
+    @Query("SELECT e.course.id FROM Enrollment e GROUP BY e.course.id ORDER BY COUNT(e.id) DESC")
+    List<Long> findMostPopularCourseIds(Pageable pageable);
 
-    @Query("SELECT e.course FROM Enrollment e GROUP BY e.course ORDER BY COUNT(e.id) DESC")
-    List<Course> findMostPopularCourses(Pageable pageable);
+    @Query("SELECT new onlinecourseplatform.dto.projections.CourseCountView(e.course.id, COUNT(e.id)) FROM Enrollment e " +
+            "WHERE e.course.id IN :courseIds GROUP BY e.course.id")
+    List<CourseCountView> countByCourseIdIn(Collection<Long> courseIds);
 
+    @Query("SELECT new onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO(e.id, e.studentId, e.course.id, e.enrolledAt, e.completedAt, e.price, e.status) " +
+            "FROM Enrollment e WHERE e.studentId = :studentId ORDER BY e.id")
+    List<EnrollmentResponseDTO> findViewsByStudentId(Long studentId);
 
+    @Query("SELECT new onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO(e.id, e.studentId, e.course.id, e.enrolledAt, e.completedAt, e.price, e.status) " +
+            "FROM Enrollment e ORDER BY e.id")
+    List<EnrollmentResponseDTO> findAllViews();
+
+    @Query("SELECT new onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO(e.id, e.studentId, e.course.id, e.enrolledAt, e.completedAt, e.price, e.status) " +
+            "FROM Enrollment e WHERE e.course.id IN :courseIds ORDER BY e.id")
+    List<EnrollmentResponseDTO> findViewsByCourseIdIn(Collection<Long> courseIds);
+
+    @Query(value = "SELECT new onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO(e.id, e.studentId, e.course.id, e.enrolledAt, e.completedAt, e.price, e.status) " +
+            "FROM Enrollment e WHERE e.course.id = :courseId",
+            countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId")
+    Page<EnrollmentResponseDTO> findViewsByCourseId(Long courseId, Pageable pageable);
 }
 
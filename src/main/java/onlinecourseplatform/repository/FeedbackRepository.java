@@ -1,13 +1,32 @@
 package onlinecourseplatform.repository;
 
+import onlinecourseplatform.dto.projections.FeedbackView;
+import onlinecourseplatform.dto.responseDTOs.FeedbackResponseDTO;
 import onlinecourseplatform.entity.Feedback;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     boolean existsByCourseIdAndStudentId(Long courseId, Long studentId);
     List<Feedback> findByCourseId(Long courseId);
+
+    // One page in the pageable's order; the total comes from the course's rating summary, so no count query
+    @Query("SELECT new onlinecourseplatform.dto.responseDTOs.FeedbackResponseDTO(f.id, f.rating, f.review, f.reviewTitle, f.helpfulCount, f.createdAt) " +
+            "FROM Feedback f WHERE f.course.id = :courseId")
+    List<FeedbackResponseDTO> findViewsByCourseId(Long courseId, Pageable pageable);
+
+    @Query("SELECT new onlinecourseplatform.dto.projections.FeedbackView(f.course.id, f.id, f.rating, f.review, f.reviewTitle, f.helpfulCount, f.createdAt) " +
+            "FROM Feedback f WHERE f.course.id IN :courseIds ORDER BY f.id")
+    List<FeedbackView> findViewsByCourseIdIn(Collection<Long> courseIds);
+
+    @Modifying
+    @Query("UPDATE Feedback f SET f.helpfulCount = f.helpfulCount + 1 WHERE f.id = :id")
+    int incrementHelpfulCount(Long id);
 }
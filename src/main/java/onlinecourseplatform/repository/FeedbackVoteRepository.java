@@ -0,0 +1,19 @@
+package onlinecourseplatform.repository;
+
+import onlinecourseplatform.entity.FeedbackVote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface FeedbackVoteRepository extends JpaRepository<FeedbackVote, Long> {
+
+    // Relies on uk_feedback_vote to turn a repeated vote into a no-op. Returns 1 if the vote was recorded.
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO feedback_votes (feedback_id, user_id, created_at) VALUES (:feedbackId, :userId, :createdAt)",
+            nativeQuery = true)
+    int insertIfAbsent(Long feedbackId, Long userId, LocalDateTime createdAt);
+}
@@ -1,12 +1,20 @@
 package onlinecourseplatform.repository;
 
+import onlinecourseplatform.dto.projections.ModuleView;
 import onlinecourseplatform.entity.Module;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ModuleRepository extends JpaRepository<Module, Long> {
+    // Spelled out so the filter is on module.course_id; the derived query left-joins courses first
+    @Query("SELECT m FROM Module m WHERE m.course.id = :courseId")
     List<Module> findByCourseId(Long courseId);
+
+    @Query("SELECT new onlinecourseplatform.dto.projections.ModuleView(m.id, m.course.id, m.moduleName) FROM Module m WHERE m.course.id IN :courseIds ORDER BY m.id")
+    List<ModuleView> findViewsByCourseIdIn(Collection<Long> courseIds);
 }
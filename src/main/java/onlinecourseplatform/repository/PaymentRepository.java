@@ -2,6 +2,7 @@ package onlinecourseplatform.repository;
 
 import onlinecourseplatform.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -11,5 +12,7 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Payment findByUserIdAndCourseId(Long userId, Long courseId);
 
+    // Spelled out so the filter is on payment.user_id; the derived query left-joins users first
+    @Query("SELECT p FROM Payment p WHERE p.user.id = :userId")
     List<Payment> findByUserId(Long userId);
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package onlinecourseplatform.repository;
 
+import onlinecourseplatform.dto.responseDTOs.VideoResponseDTO;
 import onlinecourseplatform.entity.Video;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface VideoRepository extends JpaRepository<Video,Long> {
     void deleteByModuleId(Long id);
     List<Video> findByModuleId(Long moduleId); // optional
+
+    @Query("SELECT new onlinecourseplatform.dto.responseDTOs.VideoResponseDTO(v.module.id, v.URL, v.filename, v.description) FROM Video v WHERE v.module.id IN :moduleIds ORDER BY v.id")
+    List<VideoResponseDTO> findViewsByModuleIdIn(Collection<Long> moduleIds);
 }
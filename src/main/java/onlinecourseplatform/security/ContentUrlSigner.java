@@ -0,0 +1,84 @@
+package onlinecourseplatform.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Issues and verifies short-lived, user-bound URLs for secure course content.
+ * A URL carries the user ID, an expiry and an HMAC-SHA256 signature over
+ * (content type, content ID, user ID, expiry), so it can be checked without touching the database or Redis.
+ * The signing key is separate from the JWT secret, so neither kind of token can be forged with the other's key.
+ */
+@Component
+public class ContentUrlSigner {
+
+    public static final String MEDIA_PATH_PREFIX = "/api/media/";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec signingKey;
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public ContentUrlSigner(@Value("${content.signing.secret}") String secret,
+                            @Value("${jwt.secret}") String jwtSecret,
+                            @Value("${content.signing.ttl-seconds:900}") long ttlSeconds) {
+        if (secret.isBlank() || secret.equals(jwtSecret)) {
+            throw new IllegalStateException("content.signing.secret must be set and differ from jwt.secret");
+        }
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * A signed URL together with the instant it stops being accepted.
+     */
+    public record SignedUrl(String url, Instant expiresAt) {
+    }
+
+    /**
+     * Signs a URL for the given content (e.g. "video" or "document") that only the given user may use.
+     */
+    public SignedUrl sign(String contentType, Long contentId, Long userId) {
+        long expiresAt = Instant.now().getEpochSecond() + ttlSeconds;
+        String signature = signature(contentType, contentId, userId, expiresAt);
+        String url = MEDIA_PATH_PREFIX + contentType + "/" + contentId
+                + "?uid=" + userId + "&exp=" + expiresAt + "&sig=" + signature;
+        return new SignedUrl(url, Instant.ofEpochSecond(expiresAt));
+    }
+
+    /**
+     * Returns true if the signature matches and the URL has not expired.
+     */
+    public boolean verify(String contentType, long contentId, long userId, long expiresAt, String signature) {
+        if (expiresAt < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        byte[] expected = signature(contentType, contentId, userId, expiresAt).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String signature(String contentType, long contentId, long userId, long expiresAt) {
+        String payload = contentType + ":" + contentId + ":" + userId + ":" + expiresAt;
+        byte[] digest = macs.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise content URL signer", e);
+        }
+    }
+}
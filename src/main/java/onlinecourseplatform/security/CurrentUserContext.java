@@ -0,0 +1,44 @@
+package onlinecourseplatform.security;
+
+import onlinecourseplatform.entity.Role;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Request-scoped holder for the authenticated user.
+ * Populated once by {@link JwtAuthenticationFilter} so controllers and services
+ * can read the current user's id, email and role without going back to the database.
+ */
+@Component
+@RequestScope
+@Getter
+public class CurrentUserContext {
+
+    private Long id;
+    private String email;
+    private Role role;
+
+    /**
+     * Copies the identity of the authenticated user into this request's context.
+     */
+    public void populate(CustomUserDetails userDetails) {
+        this.id = userDetails.getId();
+        this.email = userDetails.getEmail();
+        this.role = userDetails.getRole();
+    }
+
+    /**
+     * Returns true if the auth filter resolved a user for this request.
+     */
+    public boolean isAuthenticated() {
+        return id != null;
+    }
+
+    /**
+     * Returns true if the current user has the given role.
+     */
+    public boolean hasRole(Role expected) {
+        return role == expected;
+    }
+}
@@ -1,5 +1,7 @@
 package onlinecourseplatform.security;
 
+import onlinecourseplatform.datasource.Workload;
+import onlinecourseplatform.datasource.WorkloadContext;
 import onlinecourseplatform.entity.User;
 import onlinecourseplatform.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -21,8 +23,11 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        User user;
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.AUTH)) {
+            user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        }
 
         return new CustomUserDetails(
                 user.getId(),
@@ -2,11 +2,15 @@ package onlinecourseplatform.security;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Scope;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import onlinecourseplatform.observability.Spans;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -26,6 +30,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final CurrentUserContext currentUserContext;
+    private final Spans spans;
     private static final String TOKEN_PREFIX = "Bearer ";
 
     /**
@@ -35,6 +41,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
+        // The span covers token checks and the user lookup only, not the rest of the chain
+        Span span = spans.start("JwtAuthenticationFilter", SpanKind.INTERNAL);
+        boolean proceed;
+        try (Scope ignored = span.makeCurrent()) {
+            proceed = authenticate(request, response);
+        } catch (RuntimeException e) {
+            Spans.fail(span, e);
+            throw e;
+        } finally {
+            span.end();
+        }
+
+        if (proceed) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Authenticates the request from its bearer token. Returns false if the response was already rejected.
+     */
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) {
         final String authHeader = request.getHeader("Authorization");
         String username = null;
         String jwt = null;
@@ -45,10 +72,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 username = jwtUtil.extractUsername(jwt);
             } catch (ExpiredJwtException e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                return;
+                return false;
             } catch (JwtException e) {
                 response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                return;
+                return false;
             }
         }
 
@@ -60,10 +87,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                if (userDetails instanceof CustomUserDetails customUserDetails) {
+                    currentUserContext.populate(customUserDetails);
+                }
             }
         }
 
-        filterChain.doFilter(request, response);
+        return true;
     }
 
     /**
@@ -74,8 +104,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
-        System.out.println("Checking filter path: " + path);
         return path.startsWith("/auth")
+                || path.startsWith(ContentUrlSigner.MEDIA_PATH_PREFIX)
                 || path.startsWith("/v3/api-docs")
                 || path.startsWith("/swagger-ui")
                 || path.equals("/swagger-ui/index.html")
@@ -0,0 +1,69 @@
+package onlinecourseplatform.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Guards /api/media/** by checking the signature issued by {@link ContentUrlSigner}.
+ * Runs instead of the JWT filter for these paths, so serving a media request needs no database or Redis access.
+ */
+@Component
+@RequiredArgsConstructor
+public class SignedContentUrlFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the user ID the verified URL was issued to.
+     */
+    public static final String USER_ID_ATTRIBUTE = "onlinecourseplatform.signedContent.userId";
+
+    private final ContentUrlSigner contentUrlSigner;
+
+    /**
+     * Verifies uid/exp/sig against the content type and ID in the path, rejecting anything that does not match.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        // Path looks like /api/media/{type}/{id}[/...]
+        String[] segments = request.getRequestURI()
+                .substring(ContentUrlSigner.MEDIA_PATH_PREFIX.length())
+                .split("/", 3);
+        String userId = request.getParameter("uid");
+        String expiresAt = request.getParameter("exp");
+        String signature = request.getParameter("sig");
+
+        if (segments.length < 2 || userId == null || expiresAt == null || signature == null) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        try {
+            long uid = Long.parseLong(userId);
+            if (!contentUrlSigner.verify(segments[0], Long.parseLong(segments[1]), uid, Long.parseLong(expiresAt), signature)) {
+                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                return;
+            }
+            request.setAttribute(USER_ID_ATTRIBUTE, uid);
+        } catch (NumberFormatException e) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Only signed media paths are checked here.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(ContentUrlSigner.MEDIA_PATH_PREFIX);
+    }
+}
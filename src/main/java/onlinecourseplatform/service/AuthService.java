@@ -116,8 +116,7 @@ public class AuthService {
      * Returns a success message.
      */
     public ResponseEntity<?> logout(String email) {
-        User user = utility.findUserByEmail(email);
-        redisService.deleteToken(user.getId());
+        redisService.deleteToken(utility.getUserIdByEmail(email));
         return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
     }
 
@@ -129,7 +128,8 @@ public class AuthService {
         String otp = String.valueOf(new Random().nextInt(900000) + 100000); // 6-digit
         otpStorage.put(email, otp);
 
-        System.out.println("OTP for " + email + ": " + otp);
+        // Never log the code itself: anyone who can read the logs could reset the account
+        log.debug("Issued password reset OTP for {}", email);
     }
 
     /**
@@ -0,0 +1,109 @@
+package onlinecourseplatform.service;
+
+import lombok.Getter;
+import onlinecourseplatform.dto.responseDTOs.BulkEnrollmentJobResponse;
+import onlinecourseplatform.dto.responseDTOs.BulkEnrollmentRowResult;
+import onlinecourseplatform.dto.responseDTOs.BulkEnrollmentRowResult.Outcome;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress and per-row results of one bulk enrollment upload.
+ * Updated by the worker thread and read concurrently by the progress endpoint.
+ */
+public class BulkEnrollmentJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * One parsed input line; IDs are null when the line could not be parsed.
+     */
+    public record Row(int line, Long studentId, Long courseId) {
+    }
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final List<Row> rows;
+    private final BulkEnrollmentRowResult[] results;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger enrolled = new AtomicInteger();
+    private final AtomicInteger alreadyEnrolled = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public BulkEnrollmentJob(List<Row> rows) {
+        this.rows = rows;
+        this.results = new BulkEnrollmentRowResult[rows.size()];
+    }
+
+    /**
+     * Records the outcome of the row at the given position in the upload.
+     */
+    public void record(int index, Outcome outcome) {
+        Row row = rows.get(index);
+        results[index] = new BulkEnrollmentRowResult(row.line(), row.studentId(), row.courseId(), outcome);
+        switch (outcome) {
+            case ENROLLED -> enrolled.incrementAndGet();
+            case ALREADY_ENROLLED -> alreadyEnrolled.incrementAndGet();
+            default -> failed.incrementAndGet();
+        }
+        processed.incrementAndGet();
+    }
+
+    public void started() {
+        status = Status.RUNNING;
+    }
+
+    public void finished() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void failed(String message) {
+        finishedAt = LocalDateTime.now();
+        error = message;
+        status = Status.FAILED;
+    }
+
+    public boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * Row results recorded so far, optionally only the rows that were not enrolled.
+     */
+    public List<BulkEnrollmentRowResult> results(boolean failuresOnly) {
+        return Arrays.stream(results)
+                .filter(result -> result != null
+                        && (!failuresOnly || result.getOutcome() != Outcome.ENROLLED))
+                .toList();
+    }
+
+    public BulkEnrollmentJobResponse toResponse() {
+        return BulkEnrollmentJobResponse.builder()
+                .jobId(id)
+                .status(status.name())
+                .totalRows(rows.size())
+                .processedRows(processed.get())
+                .enrolled(enrolled.get())
+                .alreadyEnrolled(alreadyEnrolled.get())
+                .failed(failed.get())
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+    }
+}
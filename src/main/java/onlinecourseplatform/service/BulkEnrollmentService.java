@@ -0,0 +1,256 @@
+package onlinecourseplatform.service;
+
+import onlinecourseplatform.datasource.Workload;
+import onlinecourseplatform.datasource.WorkloadContext;
+import onlinecourseplatform.dto.responseDTOs.BulkEnrollmentRowResult.Outcome;
+import onlinecourseplatform.event.DomainEventPublisher;
+import onlinecourseplatform.event.DomainEventType;
+import onlinecourseplatform.service.BulkEnrollmentJob.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Enrolls large cohorts in one upload. The body is a stream of "studentId,courseId" lines (CSV, optional header);
+ * rows are processed in chunks, each chunk costing three lookups and one batched insert regardless of its size.
+ */
+@Slf4j
+@Service
+public class BulkEnrollmentService {
+
+    private static final String STUDENTS_SQL =
+            "SELECT id FROM users WHERE role = 'STUDENT' AND id IN (:ids)";
+    private static final String COURSES_SQL =
+            "SELECT id, price FROM courses WHERE id IN (:ids)";
+    private static final String EXISTING_SQL =
+            "SELECT student_id, course_id FROM enrollments WHERE course_id IN (:courseIds) AND student_id IN (:studentIds)";
+    private static final String INSERT_SQL =
+            "INSERT INTO enrollments (student_id, course_id, price, enrolled_at, status) VALUES (?, ?, ?, ?, 'ACTIVE')";
+    // A chunk that loses a race with a concurrent enrollment is rolled back and validated again
+    private static final int CHUNK_ATTEMPTS = 3;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TaskExecutor executor;
+    private final int chunkSize;
+    private final int maxRows;
+    private final Map<String, BulkEnrollmentJob> jobs;
+
+    public BulkEnrollmentService(NamedParameterJdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 DomainEventPublisher domainEventPublisher,
+                                 @Qualifier("batchTaskExecutor") TaskExecutor executor,
+                                 @Value("${enrollment.bulk.chunk-size:1000}") int chunkSize,
+                                 @Value("${enrollment.bulk.max-rows:100000}") int maxRows,
+                                 @Value("${enrollment.bulk.retained-jobs:50}") int retainedJobs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.domainEventPublisher = domainEventPublisher;
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+        // Keeps the most recent jobs for progress polling; older ones are dropped.
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BulkEnrollmentJob> eldest) {
+                return size() > retainedJobs;
+            }
+        });
+    }
+
+    /**
+     * Parses the upload and queues it for processing, returning the job to poll.
+     * Answers 503 when the queue of pending jobs is full.
+     */
+    public BulkEnrollmentJob submit(InputStream body) throws IOException {
+        BulkEnrollmentJob job = new BulkEnrollmentJob(parse(body));
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            log.warn("Rejected bulk enrollment job {}: the queue is full", job.getId());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many bulk enrollment jobs are queued, try again later");
+        }
+        log.info("Queued bulk enrollment job {} with {} rows", job.getId(), job.getRows().size());
+        return job;
+    }
+
+    public Optional<BulkEnrollmentJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private List<Row> parse(InputStream body) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || (lineNumber == 1 && !Character.isDigit(line.charAt(0)))) {
+                continue; // blank line or header
+            }
+            if (rows.size() == maxRows) {
+                throw new RuntimeException("Bulk enrollment is limited to " + maxRows + " rows per upload");
+            }
+            rows.add(parseRow(lineNumber, line));
+        }
+        return rows;
+    }
+
+    private Row parseRow(int lineNumber, String line) {
+        String[] fields = line.split("[,;\\t]");
+        if (fields.length != 2) {
+            return new Row(lineNumber, null, null);
+        }
+        try {
+            return new Row(lineNumber, Long.parseLong(fields[0].trim()), Long.parseLong(fields[1].trim()));
+        } catch (NumberFormatException e) {
+            return new Row(lineNumber, null, null);
+        }
+    }
+
+    private void run(BulkEnrollmentJob job) {
+        job.started();
+        long startedAt = System.nanoTime();
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(Workload.BATCH)) {
+            List<Row> rows = job.getRows();
+            for (int from = 0; from < rows.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, rows.size());
+                Outcome[] outcomes = runChunk(job, from, to);
+                for (int i = from; i < to; i++) {
+                    job.record(i, outcomes[i - from]);
+                }
+            }
+            job.finished();
+            log.info("Bulk enrollment job {} finished in {} ms", job.getId(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            job.failed(e.getMessage());
+            log.error("Bulk enrollment job {} failed", job.getId(), e);
+        }
+    }
+
+    /**
+     * Processes rows [from, to) in their own transaction. The existence check and the insert are not atomic, so an
+     * enrollment committed in between fails the batch on uk_enrollment_student_course; the chunk is then rolled
+     * back and checked again, which reports that pair as already enrolled.
+     */
+    private Outcome[] runChunk(BulkEnrollmentJob job, int from, int to) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> processChunk(job, from, to));
+            } catch (DuplicateKeyException e) {
+                if (attempt == CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Bulk enrollment job {} lost a race on rows {}-{}, retrying", job.getId(), from, to);
+            }
+        }
+    }
+
+    /**
+     * Validates and inserts rows [from, to) of the job in the current transaction, returning their outcomes.
+     * Outcomes are only recorded on the job once the transaction commits.
+     */
+    private Outcome[] processChunk(BulkEnrollmentJob job, int from, int to) {
+        List<Row> rows = job.getRows();
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            Row row = rows.get(i);
+            if (row.studentId() != null) {
+                studentIds.add(row.studentId());
+                courseIds.add(row.courseId());
+            }
+        }
+
+        Set<Long> students = studentIds.isEmpty() ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                STUDENTS_SQL, new MapSqlParameterSource("ids", studentIds), Long.class));
+        Map<Long, BigDecimal> coursePrices = new HashMap<>();
+        if (!courseIds.isEmpty()) {
+            jdbcTemplate.query(COURSES_SQL, new MapSqlParameterSource("ids", courseIds),
+                    rs -> { coursePrices.put(rs.getLong("id"), rs.getBigDecimal("price")); });
+        }
+        Set<List<Long>> enrolled = existingEnrollments(students, coursePrices.keySet());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Outcome[] outcomes = new Outcome[to - from];
+        List<Object[]> inserts = new ArrayList<>();
+        Map<Long, Integer> enrolledPerCourse = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            Row row = rows.get(i);
+            Outcome outcome;
+            if (row.studentId() == null) {
+                outcome = Outcome.INVALID_ROW;
+            } else if (!students.contains(row.studentId())) {
+                outcome = Outcome.STUDENT_NOT_FOUND;
+            } else if (!coursePrices.containsKey(row.courseId())) {
+                outcome = Outcome.COURSE_NOT_FOUND;
+            } else if (!enrolled.add(List.of(row.studentId(), row.courseId()))) {
+                // Already in the table, or repeated earlier in this upload
+                outcome = Outcome.ALREADY_ENROLLED;
+            } else {
+                inserts.add(new Object[]{row.studentId(), row.courseId(), coursePrices.get(row.courseId()), now});
+                enrolledPerCourse.merge(row.courseId(), 1, Integer::sum);
+                outcome = Outcome.ENROLLED;
+            }
+            outcomes[i - from] = outcome;
+        }
+
+        if (!inserts.isEmpty()) {
+            // A plain INSERT either adds its row or fails the batch, so every row marked ENROLLED was inserted
+            // even when the driver rewrites the batch and reports SUCCESS_NO_INFO instead of row counts
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, inserts);
+        }
+        enrolledPerCourse.forEach((courseId, count) ->
+                domainEventPublisher.publish(DomainEventType.ENROLLMENTS_IMPORTED, courseId, Map.of(
+                        "courseId", courseId,
+                        "enrolled", count,
+                        "jobId", job.getId()
+                )));
+        return outcomes;
+    }
+
+    private Set<List<Long>> existingEnrollments(Set<Long> studentIds, Set<Long> courseIds) {
+        Set<List<Long>> existing = new HashSet<>();
+        if (studentIds.isEmpty() || courseIds.isEmpty()) {
+            return existing;
+        }
+        jdbcTemplate.query(EXISTING_SQL, new MapSqlParameterSource()
+                        .addValue("courseIds", courseIds)
+                        .addValue("studentIds", studentIds),
+                rs -> { existing.add(List.of(rs.getLong("student_id"), rs.getLong("course_id"))); });
+        return existing;
+    }
+}
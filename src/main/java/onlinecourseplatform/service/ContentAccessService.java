@@ -0,0 +1,136 @@
+package onlinecourseplatform.service;
+
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.repository.DocumentRepository;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.repository.VideoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import onlinecourseplatform.utility.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Authorizes access to secure course content (videos and documents).
+ * Keeps an in-memory index of content ID → owning course/instructor and a cache of
+ * granted (userId, courseId) decisions so repeated media requests skip the database.
+ * All three are size-bounded and evict their least useful entries one at a time. They also expire, because
+ * evictions only reach the instance that made the change: other instances serve stale entries for at most the TTL.
+ */
+@Slf4j
+@Service
+public class ContentAccessService {
+
+    private final VideoRepository videoRepository;
+    private final DocumentRepository documentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final Cache<Long, ContentRef> videoIndex;
+    private final Cache<Long, ContentRef> documentIndex;
+    private final Cache<AccessKey, Boolean> grants;
+
+    public ContentAccessService(VideoRepository videoRepository, DocumentRepository documentRepository,
+                                EnrollmentRepository enrollmentRepository,
+                                @Value("${content.access-cache.ttl-seconds:300}") long ttlSeconds,
+                                @Value("${content.access-cache.max-entries:100000}") long maxEntries) {
+        this.videoRepository = videoRepository;
+        this.documentRepository = documentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.videoIndex = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.documentIndex = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.grants = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * What the streaming endpoints need to know about a piece of content.
+     */
+    public record ContentRef(long courseId, long instructorId, String url, String filename) {
+    }
+
+    private record AccessKey(long userId, long courseId) {
+    }
+
+    /**
+     * Resolves a video to its owning course, loading it from the database only on the first request.
+     */
+    public ContentRef resolveVideo(Long videoId) {
+        return videoIndex.get(videoId, id -> videoRepository.findById(id)
+                .map(video -> toRef(video.getModule().getCourse(), video.getURL(), video.getFilename()))
+                .orElseThrow(() -> new RuntimeException("Video not found with ID: " + id)));
+    }
+
+    /**
+     * Resolves a document to its owning course, loading it from the database only on the first request.
+     */
+    public ContentRef resolveDocument(Long documentId) {
+        return documentIndex.get(documentId, id -> documentRepository.findById(id)
+                .map(document -> toRef(document.getModule().getCourse(), document.getURL(), document.getFilename()))
+                .orElseThrow(() -> new RuntimeException("Document not found with ID: " + id)));
+    }
+
+    /**
+     * Admins see everything, instructors see their own courses, students need an enrollment.
+     */
+    public boolean canAccess(Long userId, Role role, ContentRef content) {
+        if (role == Role.ADMIN) {
+            return true;
+        }
+        if (role == Role.INSTRUCTOR && content.instructorId() == userId) {
+            return true;
+        }
+        return isEnrolled(userId, content.courseId());
+    }
+
+    /**
+     * Checks enrollment, serving granted decisions from the cache until they expire.
+     * Denials are never cached so a fresh enrollment takes effect immediately.
+     */
+    public boolean isEnrolled(Long userId, long courseId) {
+        AccessKey key = new AccessKey(userId, courseId);
+        if (grants.getIfPresent(key) != null) {
+            return true;
+        }
+
+        boolean enrolled = enrollmentRepository.existsByStudentIdAndCourseId(userId, courseId);
+        if (enrolled) {
+            grants.put(key, Boolean.TRUE);
+        }
+        return enrolled;
+    }
+
+    /**
+     * Drops every cached decision and content entry belonging to a course, e.g. after its modules are replaced.
+     */
+    public void evictCourse(Long courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            videoIndex.asMap().values().removeIf(ref -> ref.courseId() == courseId);
+            documentIndex.asMap().values().removeIf(ref -> ref.courseId() == courseId);
+            grants.asMap().keySet().removeIf(key -> key.courseId() == courseId);
+            log.debug("Evicted content access cache for course {}", courseId);
+        });
+    }
+
+    /**
+     * Drops every cached decision for a user, e.g. after the user is deleted.
+     */
+    public void evictUser(Long userId) {
+        TransactionCallbacks.afterCommit(() -> grants.asMap().keySet().removeIf(key -> key.userId() == userId));
+    }
+
+    private ContentRef toRef(Course course, String url, String filename) {
+        return new ContentRef(course.getId(), course.getInstructorId(), url, filename);
+    }
+}
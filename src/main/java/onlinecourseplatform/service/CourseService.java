@@ -1,21 +1,29 @@
 package onlinecourseplatform.service;
 
 import onlinecourseplatform.dto.entityDTOs.ModuleDTO;
+import onlinecourseplatform.dto.projections.CourseSummaryView;
 import onlinecourseplatform.dto.entityDTOs.DocumentDTO;
 import onlinecourseplatform.dto.entityDTOs.VideoDTO;
 import onlinecourseplatform.dto.requestDTOs.*;
 import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
 import onlinecourseplatform.dto.responseDTOs.CourseContentResponseDTO;
 import onlinecourseplatform.dto.responseDTOs.CourseResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.PageResponse;
 import onlinecourseplatform.dto.responseDTOs.UserResponseDTO;
 import onlinecourseplatform.entity.*;
 import onlinecourseplatform.entity.Module;
+import onlinecourseplatform.httpcache.CatalogVersions;
+import onlinecourseplatform.media.VideoAddedEvent;
+import onlinecourseplatform.media.VideosRemovedEvent;
 import onlinecourseplatform.repository.*;
 import onlinecourseplatform.utility.Conversion;
 import onlinecourseplatform.utility.Utility;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +31,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 /**
  * Service class for managing courses and instructor-related actions.
@@ -32,6 +43,8 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class CourseService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final ModuleRepository moduleRepository;
@@ -40,36 +53,49 @@ public class CourseService {
     private final Conversion conversion;
     private final Utility utility;
     private final CloudUrlProcessorService cloudUrlProcessorService;
+    private final ContentAccessService contentAccessService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CourseViewAssembler courseViewAssembler;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Retrieves all courses available on the platform.
      */
+    @Transactional(readOnly = true)
     public List<BasicCourseDetailsResponse> getAllCourses() {
-        return courseRepository.findAll().stream().map(conversion::toBasicCourseDto).collect(Collectors.toList());
+        return courseViewAssembler.toBasicCourseDetails(courseRepository.findAllSummaries());
     }
 
     /**
      * Retrieves course details by its ID for students
      */
+    @Transactional(readOnly = true)
     public BasicCourseDetailsResponse getCourseForStudent(Long id) {
-        Course course =  courseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Course not found with ID: " + id));
-        return conversion.toBasicCourseDto(course);
+        List<CourseSummaryView> course = courseRepository.findSummariesByIdIn(List.of(id));
+        if (course.isEmpty()) {
+            throw new RuntimeException("Course not found with ID: " + id);
+        }
+        return courseViewAssembler.toBasicCourseDetails(course).get(0);
     }
 
     /**
-     * Retrieves course details by its ID for instructor or Admin
+     * Retrieves course details by its ID for its instructor or an admin
      */
-    public CourseResponseDTO getFullCourseForInstructor(Long id) {
-        Course course = courseRepository.findById(id)
+    @Transactional(readOnly = true)
+    public CourseResponseDTO getFullCourseForInstructor(Long id, Long userId, boolean isAdmin) {
+        Course course = courseRepository.findWithModulesById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + id));
+        if (!isAdmin && !course.getInstructorId().equals(userId)) {
+            throw new AccessDeniedException("You do not own this course");
+        }
         return conversion.toResponseDto(course); // full course details with content, feedback, etc.
     }
     /**
      * Retrieves all courses created by a specific instructor.
      */
+    @Transactional(readOnly = true)
     public List<CourseResponseDTO> getCoursesByInstructor(Long instructorId) {
-        return courseRepository.findByInstructorId(instructorId).stream().map(conversion::toResponseDto).collect(Collectors.toList());
+        return courseViewAssembler.toCourseResponses(courseRepository.findDetailsByInstructorId(instructorId));
     }
 
     @Transactional
@@ -94,7 +120,8 @@ public class CourseService {
                 video.setCloudProvider(cloudUrlProcessorService.detectCloudProvider(videoDTO.getURL()));
                 video.setModule(module);
                 video.setDescription(videoDTO.getDescription());
-                videoRepository.save(video);
+                video = videoRepository.save(video);
+                eventPublisher.publishEvent(new VideoAddedEvent(video.getId(), video.getURL()));
             }
 
             for (DocumentRequestDTO documentDTO : moduleDTO.getDocuments()) {
@@ -107,6 +134,7 @@ public class CourseService {
             }
         }
 
+        catalogVersions.bumpCourse(newCourse.getId());
         log.info("Course created by instructor {}: {}", newCourse.getInstructorId(), newCourse.getTitle());
         return conversion.toResponseDto(newCourse);
     }
@@ -129,8 +157,11 @@ public class CourseService {
 
         // If modules need to be updated
         if (courseDto.getModules() != null) {
+            contentAccessService.evictCourse(courseId);
+
             // Delete existing modules
             List<Module> existingModules = moduleRepository.findByCourseId(courseId);
+            eventPublisher.publishEvent(new VideosRemovedEvent(videoIdsOf(existingModules)));
             for (Module module : existingModules) {
                 moduleRepository.delete(module); // cascades to videos and documents
             }
@@ -148,7 +179,8 @@ public class CourseService {
                     video.setURL(videoDTO.getURL());
                     video.setCloudProvider(cloudUrlProcessorService.detectCloudProvider(videoDTO.getURL()));
                     video.setModule(module);
-                    videoRepository.save(video);
+                    video = videoRepository.save(video);
+                    eventPublisher.publishEvent(new VideoAddedEvent(video.getId(), video.getURL()));
                 }
 
                 for (DocumentDTO documentDTO : moduleDTO.getDocuments()) {
@@ -163,6 +195,7 @@ public class CourseService {
         }
 
         course = courseRepository.save(course);
+        catalogVersions.bumpCourse(courseId);
         log.info("Instructor {} updated course {}", instructorId, courseId);
         return conversion.toResponseDto(course);
     }
@@ -181,12 +214,30 @@ public class CourseService {
         }
 
         log.info("{} is deleting course {}", isAdmin ? "Admin" : "Instructor", courseId);
+        eventPublisher.publishEvent(new VideosRemovedEvent(videoIdsOf(course.getModules())));
         courseRepository.deleteById(courseId);
+        contentAccessService.evictCourse(courseId);
+        catalogVersions.bumpCourse(courseId);
+    }
+
+    /**
+     * Retrieves one page of a course's enrollments, oldest first, for its instructor or an admin.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<EnrollmentResponseDTO> getCourseEnrollments(Long courseId, Long userId, boolean isAdmin, int page, int size) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
+        if (!isAdmin && !course.getInstructorId().equals(userId)) {
+            throw new AccessDeniedException("You do not own this course");
+        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), Sort.by("id"));
+        return PageResponse.of(enrollmentRepository.findViewsByCourseId(courseId, pageable));
     }
 
     /**
      * Retrieves a list of students enrolled in a specific course.
      */
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getEnrolledStudents(Long courseId, Long instructorId) {
         // 1. Check if course exists
         Course course = courseRepository.findById(courseId)
@@ -213,16 +264,17 @@ public class CourseService {
     /**
      * Get course content for enrolled students
      */
+    @Transactional(readOnly = true)
     public CourseContentResponseDTO getCourseContent(Long courseId, Long studentId) {
         // 1. Validate enrollment
         utility.validateEnrollment(studentId, courseId);
 
-        // 2. Fetch the course
-        Course course = courseRepository.findById(courseId)
+        // 2. Fetch the course together with its modules
+        Course course = courseRepository.findWithModulesById(courseId)
                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
 
         // 3. Log access
-        log.info("Returning course content for course ID {} to student ID {}", courseId, studentId);
+        log.debug("Returning course content for course ID {} to student ID {}", courseId, studentId);
 
         // 4. Convert course + modules to CourseContentResponseDTO
         return conversion.toCourseContentResponseDTO(course); // new method you’ll define
@@ -230,28 +282,46 @@ public class CourseService {
     /**
      * Searches for courses by title or description.
      */
+    @Transactional(readOnly = true)
     public List<BasicCourseDetailsResponse> searchCourses(String query) {
-        List<Course> courses = courseRepository.searchCoursesByTitleOrDescription(query);
-        log.info("Found {} courses matching search query '{}'", courses.size(), query);
-        return courses.stream().map(conversion::toBasicCourseDto).toList();
+        List<CourseSummaryView> courses = courseRepository.searchSummaries(query);
+        log.debug("Found {} courses matching search query '{}'", courses.size(), query);
+        return courseViewAssembler.toBasicCourseDetails(courses);
     }
 
     /**
      * Retrieves the most popular courses based on enrollment count.
      */
+    @Transactional(readOnly = true)
     public List<BasicCourseDetailsResponse> getPopularCourses(int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        List<Course> popularCourses = enrollmentRepository.findMostPopularCourses(pageable);
-        log.info("Fetched top {} popular courses", popularCourses.size());
-        return popularCourses.stream().map(conversion::toBasicCourseDto).toList();
+        List<Long> popularIds = enrollmentRepository.findMostPopularCourseIds(pageable);
+        log.debug("Fetched top {} popular courses", popularIds.size());
+        if (popularIds.isEmpty()) {
+            return List.of();
+        }
+        // The IN query does not keep the ranking, so restore it from the ID list
+        Map<Long, CourseSummaryView> byId = courseRepository.findSummariesByIdIn(popularIds).stream()
+                .collect(Collectors.toMap(CourseSummaryView::id, Function.identity()));
+        return courseViewAssembler.toBasicCourseDetails(popularIds.stream().map(byId::get).filter(Objects::nonNull).toList());
     }
 
     /**
      * Retrieves a course entity by its ID. Used as helper method in other services.
      */
+    @Transactional(readOnly = true)
     public Course getCourseEntityById(Long id) {
         return courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + id));
     }
 
+    /**
+     * Collects the IDs of all videos in the given modules.
+     */
+    private List<Long> videoIdsOf(List<Module> modules) {
+        return modules.stream()
+                .flatMap(module -> module.getVideos().stream())
+                .map(Video::getId)
+                .toList();
+    }
 }
\ No newline at end of file
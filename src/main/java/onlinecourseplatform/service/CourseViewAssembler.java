@@ -0,0 +1,131 @@
+package onlinecourseplatform.service;
+
+import onlinecourseplatform.dto.projections.CourseCountView;
+import onlinecourseplatform.dto.projections.CourseDetailView;
+import onlinecourseplatform.dto.projections.CourseSummaryView;
+import onlinecourseplatform.dto.projections.FeedbackView;
+import onlinecourseplatform.dto.projections.ModuleView;
+import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
+import onlinecourseplatform.dto.responseDTOs.CourseResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.DocumentResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.FeedbackResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.ModuleResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.VideoResponseDTO;
+import onlinecourseplatform.entity.CourseRatingSummary;
+import onlinecourseplatform.repository.CourseRatingSummaryRepository;
+import onlinecourseplatform.repository.DocumentRepository;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.repository.FeedbackRepository;
+import onlinecourseplatform.repository.ModuleRepository;
+import onlinecourseplatform.repository.VideoRepository;
+import onlinecourseplatform.utility.Conversion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds course list responses from column projections. Each child collection or summary is read with one IN query
+ * per chunk of courses instead of lazy loading it per course, so a list costs a fixed number of queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseViewAssembler {
+
+    // Keeps IN lists well under database parameter limits on large catalogs
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ModuleRepository moduleRepository;
+    private final VideoRepository videoRepository;
+    private final DocumentRepository documentRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final CourseRatingSummaryRepository ratingSummaryRepository;
+    private final Conversion conversion;
+
+    /**
+     * Catalog entries for the given courses, in the same order.
+     */
+    public List<BasicCourseDetailsResponse> toBasicCourseDetails(List<CourseSummaryView> courses) {
+        List<Long> courseIds = courses.stream().map(CourseSummaryView::id).toList();
+        Map<Long, Long> enrollmentCounts = inChunks(courseIds, enrollmentRepository::countByCourseIdIn).stream()
+                .collect(Collectors.toMap(CourseCountView::courseId, CourseCountView::count));
+        Map<Long, List<String>> moduleNames = inChunks(courseIds, moduleRepository::findViewsByCourseIdIn).stream()
+                .collect(Collectors.groupingBy(ModuleView::courseId,
+                        Collectors.mapping(ModuleView::moduleName, Collectors.toList())));
+        Map<Long, CourseRatingSummary> ratings = inChunks(courseIds, ratingSummaryRepository::findAllById).stream()
+                .collect(Collectors.toMap(CourseRatingSummary::getCourseId, Function.identity()));
+
+        return courses.stream().map(course -> BasicCourseDetailsResponse.builder()
+                .id(course.id())
+                .title(course.title())
+                .description(course.description())
+                .price(course.price())
+                .noOfStudentsEnrolled(enrollmentCounts.getOrDefault(course.id(), 0L).intValue())
+                .moduleNames(moduleNames.getOrDefault(course.id(), List.of()))
+                .ratingSummary(conversion.toResponseDto(
+                        ratings.getOrDefault(course.id(), CourseRatingSummary.empty(course.id()))))
+                .build()).toList();
+    }
+
+    /**
+     * Full instructor views, with content, feedback and enrollments, for the given courses in the same order.
+     */
+    public List<CourseResponseDTO> toCourseResponses(List<CourseDetailView> courses) {
+        List<Long> courseIds = courses.stream().map(CourseDetailView::id).toList();
+        List<ModuleView> modules = inChunks(courseIds, moduleRepository::findViewsByCourseIdIn);
+        List<Long> moduleIds = modules.stream().map(ModuleView::id).toList();
+        Map<Long, List<VideoResponseDTO>> videos = inChunks(moduleIds, videoRepository::findViewsByModuleIdIn).stream()
+                .collect(Collectors.groupingBy(VideoResponseDTO::getModuleId));
+        Map<Long, List<DocumentResponseDTO>> documents = inChunks(moduleIds, documentRepository::findViewsByModuleIdIn).stream()
+                .collect(Collectors.groupingBy(DocumentResponseDTO::getModuleId));
+        Map<Long, List<ModuleResponseDTO>> modulesByCourse = modules.stream()
+                .map(module -> ModuleResponseDTO.builder()
+                        .id(module.id())
+                        .courseId(module.courseId())
+                        .moduleName(module.moduleName())
+                        .videos(videos.getOrDefault(module.id(), List.of()))
+                        .documents(documents.getOrDefault(module.id(), List.of()))
+                        .build())
+                .collect(Collectors.groupingBy(ModuleResponseDTO::getCourseId));
+        Map<Long, List<FeedbackResponseDTO>> feedback = feedbackByCourse(courseIds);
+        Map<Long, List<EnrollmentResponseDTO>> enrollments = inChunks(courseIds, enrollmentRepository::findViewsByCourseIdIn).stream()
+                .collect(Collectors.groupingBy(EnrollmentResponseDTO::getCourseId));
+
+        return courses.stream().map(course -> CourseResponseDTO.builder()
+                .id(course.id())
+                .title(course.title())
+                .description(course.description())
+                .instructorId(course.instructorId())
+                .price(course.price())
+                .modules(modulesByCourse.getOrDefault(course.id(), List.of()))
+                .feedbackList(feedback.getOrDefault(course.id(), List.of()))
+                .enrollmentList(enrollments.getOrDefault(course.id(), List.of()))
+                .createdAt(course.createdAt())
+                .build()).toList();
+    }
+
+    private Map<Long, List<FeedbackResponseDTO>> feedbackByCourse(List<Long> courseIds) {
+        return inChunks(courseIds, feedbackRepository::findViewsByCourseIdIn).stream()
+                .collect(Collectors.groupingBy(FeedbackView::courseId, Collectors.mapping(
+                        view -> new FeedbackResponseDTO(view.id(), view.rating(), view.review(), view.reviewTitle(),
+                                view.helpfulCount(), view.createdAt()),
+                        Collectors.toList())));
+    }
+
+    /**
+     * Runs an IN query over the IDs in chunks and concatenates the results; no query is issued for no IDs.
+     */
+    private static <T> List<T> inChunks(List<Long> ids, Function<List<Long>, List<T>> query) {
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            results.addAll(query.apply(ids.subList(from, Math.min(ids.size(), from + IN_CLAUSE_CHUNK))));
+        }
+        return results;
+    }
+}
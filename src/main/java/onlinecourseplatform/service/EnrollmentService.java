@@ -2,20 +2,30 @@ package onlinecourseplatform.service;
 
 import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
 import onlinecourseplatform.dto.responseDTOs.EnrollmentResponseDTO;
-import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.dto.responseDTOs.EnrollmentResult;
 import onlinecourseplatform.entity.Enrollment;
 import onlinecourseplatform.entity.Status;
-import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.event.DomainEventPublisher;
+import onlinecourseplatform.event.DomainEventType;
 import onlinecourseplatform.utility.Conversion;
+import onlinecourseplatform.utility.TransactionCallbacks;
 import onlinecourseplatform.utility.Utility;
 import lombok.extern.slf4j.Slf4j;
 import onlinecourseplatform.repository.EnrollmentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class to manage course enrollments for students.
@@ -26,47 +36,110 @@ import java.util.List;
 @Slf4j
 public class EnrollmentService {
 
+    // Single round trip enroll: copies the course price and inserts nothing if the course does not exist.
+    // Runs through JDBC rather than the repository so a duplicate only fails this statement, not the transaction.
+    private static final String ENROLL_SQL =
+            "INSERT INTO enrollments (student_id, course_id, price, enrolled_at, status) " +
+            "SELECT :studentId, c.id, c.price, :enrolledAt, 'ACTIVE' FROM courses c WHERE c.id = :courseId";
+    private static final String CREATED = "created";
+    private static final String EXISTING = "existing";
+
     private final EnrollmentRepository enrollmentRepository;
-    private final CourseRepository courseRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
     private final Conversion conversion;
     private final Utility utility;
+    private final DomainEventPublisher domainEventPublisher;
+    private final RedisService redisService;
+    private final CourseViewAssembler courseViewAssembler;
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponseDTO> getAllEnrollments() {
-        return enrollmentRepository.findAll()
-                .stream().map(conversion::toResponseDto).toList();
+        return enrollmentRepository.findAllViews();
     }
 
+    @Transactional(readOnly = true)
     public List<EnrollmentResponseDTO> getEnrollmentsByStudent(Long studentId) {
-        return enrollmentRepository.findAllByStudentId(studentId)
-                .stream().map(conversion::toResponseDto).toList();
+        return enrollmentRepository.findViewsByStudentId(studentId);
     }
 
+    @Transactional(readOnly = true)
     public List<BasicCourseDetailsResponse> getCoursesByStudent(Long studentId) {
-        return enrollmentRepository.findCoursesByStudentId(studentId)
-                .stream().map(conversion::toBasicCourseDto).toList();
+        return courseViewAssembler.toBasicCourseDetails(enrollmentRepository.findCourseSummariesByStudentId(studentId));
     }
 
+    /**
+     * Enrolls a student in a course. Safe to repeat: a duplicate request returns the existing enrollment.
+     * When an Idempotency-Key is supplied, a retry with the same key is reported exactly like the original call,
+     * reusing a key for a different course is rejected, and a retry that overtakes the original gets a 409.
+     */
     @Transactional
-    public EnrollmentResponseDTO enroll(Long studentId, Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found with ID: " + courseId));
+    public EnrollmentResult enroll(Long studentId, Long courseId, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return enrollOnce(studentId, courseId);
+        }
 
-        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
-            log.warn("Student {} is already enrolled in course {}", studentId, courseId);
-            throw new RuntimeException("Already enrolled in this course");
+        String fingerprint = "enroll:" + courseId;
+        RedisService.IdempotencyRecord previous =
+                redisService.claimIdempotencyKey(studentId, idempotencyKey, fingerprint);
+        if (previous == null) {
+            EnrollmentResult result;
+            try {
+                result = enrollOnce(studentId, courseId);
+            } catch (RuntimeException e) {
+                redisService.releaseIdempotencyKey(studentId, idempotencyKey);
+                throw e;
+            }
+            String outcome = result.created() ? CREATED : EXISTING;
+            TransactionCallbacks.afterCompletion(committed -> {
+                if (committed) {
+                    redisService.completeIdempotencyKey(studentId, idempotencyKey, fingerprint, outcome);
+                } else {
+                    redisService.releaseIdempotencyKey(studentId, idempotencyKey);
+                }
+            });
+            return result;
+        }
+
+        if (!previous.fingerprint().equals(fingerprint)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different request");
+        }
+        if (previous.outcome() == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still in progress");
         }
+        Enrollment enrollment = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+        if (enrollment == null) {
+            throw new RuntimeException("Course not found with ID: " + courseId);
+        }
+        return new EnrollmentResult(conversion.toResponseDto(enrollment), CREATED.equals(previous.outcome()));
+    }
 
-        Enrollment enrollment = Enrollment.builder()
-                .studentId(studentId)
-                .course(course)
-                .price(course.getPrice())
-                .enrolledAt(LocalDateTime.now())
-                .status(Status.ACTIVE)
-                .build();
+    private EnrollmentResult enrollOnce(Long studentId, Long courseId) {
+        boolean inserted;
+        try {
+            inserted = jdbcTemplate.update(ENROLL_SQL, new MapSqlParameterSource()
+                    .addValue("studentId", studentId)
+                    .addValue("courseId", courseId)
+                    .addValue("enrolledAt", Timestamp.valueOf(LocalDateTime.now()))) == 1;
+        } catch (DuplicateKeyException e) {
+            inserted = false; // uk_enrollment_student_course: already enrolled
+        }
+        Enrollment enrollment = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+        if (enrollment == null) {
+            throw new RuntimeException("Course not found with ID: " + courseId);
+        }
 
-        Enrollment saved = enrollmentRepository.save(enrollment);
-        log.info("Student {} enrolled in course {}", studentId, courseId);
-        return conversion.toResponseDto(saved);
+        if (inserted) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("studentId", studentId);
+            payload.put("courseId", courseId);
+            payload.put("price", enrollment.getPrice());
+            domainEventPublisher.publish(DomainEventType.ENROLLMENT_CREATED, enrollment.getId(), payload);
+            log.info("Student {} enrolled in course {}", studentId, courseId);
+        } else {
+            log.warn("Student {} is already enrolled in course {}", studentId, courseId);
+        }
+        return new EnrollmentResult(conversion.toResponseDto(enrollment), inserted);
     }
 
     @Transactional
@@ -75,9 +148,14 @@ public class EnrollmentService {
         enrollment.setCompletedAt(LocalDateTime.now());
         enrollment.setStatus(Status.COMPLETED);
         enrollmentRepository.save(enrollment);
+        domainEventPublisher.publish(DomainEventType.COURSE_COMPLETED, enrollment.getId(), Map.of(
+                "studentId", studentId,
+                "courseId", courseId
+        ));
         log.info("Student {} completed course {}", studentId, courseId);
     }
 
+    @Transactional(readOnly = true)
     public boolean isEnrolled(Long studentId, Long courseId) {
         return enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId);
     }
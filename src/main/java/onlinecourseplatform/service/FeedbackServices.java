@@ -2,55 +2,119 @@ package onlinecourseplatform.service;
 
 import onlinecourseplatform.dto.requestDTOs.FeedbackRequestDTO;
 import onlinecourseplatform.dto.responseDTOs.FeedbackResponseDTO;
+import onlinecourseplatform.dto.responseDTOs.PageResponse;
+import onlinecourseplatform.dto.responseDTOs.RatingSummaryDTO;
 import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.CourseRatingSummary;
 import onlinecourseplatform.entity.Feedback;
+import onlinecourseplatform.event.DomainEventPublisher;
+import onlinecourseplatform.event.DomainEventType;
+import onlinecourseplatform.httpcache.CatalogVersions;
+import onlinecourseplatform.repository.CourseRatingSummaryRepository;
 import onlinecourseplatform.repository.CourseRepository;
 import onlinecourseplatform.repository.FeedbackRepository;
+import onlinecourseplatform.repository.FeedbackVoteRepository;
 import onlinecourseplatform.utility.Conversion;
 import onlinecourseplatform.utility.Utility;
 import jakarta.validation.Valid;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FeedbackServices {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Orders in which a course's feedbacks can be paged through.
+     */
+    public enum FeedbackOrder {
+        RECENT(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"))),
+        HELPFUL(Sort.by(Sort.Order.desc("helpfulCount"), Sort.Order.desc("id")));
+
+        @Getter
+        private final Sort sort;
+
+        FeedbackOrder(Sort sort) {
+            this.sort = sort;
+        }
+    }
+
     private final CourseRepository courseRepository;
     private final Conversion conversion;
     private final Utility utility;
     private final FeedbackRepository feedbackRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CourseRatingSummaryRepository ratingSummaryRepository;
+    private final FeedbackVoteRepository feedbackVoteRepository;
+    private final CatalogVersions catalogVersions;
 
     /**
      * Get feedback by ID.
      */
+    @Transactional(readOnly = true)
     public FeedbackResponseDTO getFeedback(Long id) {
         Feedback feedback = feedbackRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + id));
-        log.info("Fetched feedback with ID: {}", id);
+        log.debug("Fetched feedback with ID: {}", id);
         return conversion.toResponseDto(feedback);
     }
 
     /**
-     * Get all feedbacks for a course.
+     * Get one page of a course's feedbacks, newest or most helpful first.
      */
-    public List<FeedbackResponseDTO> getAllFeedbacks(Long id) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Course not found with ID: " + id));
-        log.info("Found {} feedbacks for course ID {}", course.getFeedbackList().size(), id);
-        return course.getFeedbackList().stream()
-                .map(conversion::toResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResponse<FeedbackResponseDTO> getFeedbacks(Long courseId, FeedbackOrder order, int page, int size) {
+        CourseRatingSummary summary = getSummaryEntity(courseId);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), order.sort);
+        List<FeedbackResponseDTO> feedbacks = summary.getRatingCount() == 0 ? List.of()
+                : feedbackRepository.findViewsByCourseId(courseId, pageable);
+        log.debug("Found {} of {} feedbacks for course ID {}", feedbacks.size(), summary.getRatingCount(), courseId);
+        return PageResponse.of(new PageImpl<>(feedbacks, pageable, summary.getRatingCount()));
+    }
+
+    /**
+     * Get the rating summary of a course.
+     */
+    @Transactional(readOnly = true)
+    public RatingSummaryDTO getRatingSummary(Long courseId) {
+        return conversion.toResponseDto(getSummaryEntity(courseId));
+    }
+
+    /**
+     * Marks a feedback as helpful. Voting again, or on your own feedback, leaves the count unchanged.
+     */
+    @Transactional
+    public FeedbackResponseDTO markHelpful(Long feedbackId, Long userId) {
+        Feedback feedback = feedbackRepository.findById(feedbackId)
+                .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + feedbackId));
+        FeedbackResponseDTO response = conversion.toResponseDto(feedback);
+        if (!feedback.getStudentId().equals(userId)
+                && feedbackVoteRepository.insertIfAbsent(feedbackId, userId, LocalDateTime.now()) == 1) {
+            // Incremented in SQL so concurrent votes are all counted; the loaded entity is left untouched
+            feedbackRepository.incrementHelpfulCount(feedbackId);
+            response.setHelpfulCount(feedback.getHelpfulCount() + 1);
+            catalogVersions.bumpCourse(feedback.getCourse().getId());
+        }
+        return response;
     }
 
     /**
      * Submit feedback for a course.
      */
+    @Transactional
     public FeedbackResponseDTO setFeedback(Long courseId, Long studentId, @Valid FeedbackRequestDTO feedback) {
         utility.validateEnrollment(studentId, courseId);
 
@@ -73,8 +137,26 @@ public class FeedbackServices {
                 .build();
 
         Feedback savedFeedback = feedbackRepository.save(newFeedback);
+        ratingSummaryRepository.addRating(courseId, savedFeedback.getRating());
+        domainEventPublisher.publish(DomainEventType.FEEDBACK_SUBMITTED, savedFeedback.getId(), Map.of(
+                "courseId", courseId,
+                "studentId", studentId,
+                "rating", savedFeedback.getRating()
+        ));
 
         log.info("Student {} submitted feedback for course {}", studentId, courseId);
         return conversion.toResponseDto(savedFeedback);
     }
+
+    /**
+     * The course's rating summary; a course nobody has rated yet gets an empty one.
+     */
+    private CourseRatingSummary getSummaryEntity(Long courseId) {
+        return ratingSummaryRepository.findById(courseId).orElseGet(() -> {
+            if (!courseRepository.existsById(courseId)) {
+                throw new RuntimeException("Course not found with ID: " + courseId);
+            }
+            return CourseRatingSummary.empty(courseId);
+        });
+    }
 }
@@ -9,12 +9,15 @@ import onlinecourseplatform.entity.Course;
 import onlinecourseplatform.entity.Payment;
 import onlinecourseplatform.entity.PaymentStatus;
 import onlinecourseplatform.entity.User;
+import onlinecourseplatform.event.DomainEventPublisher;
+import onlinecourseplatform.event.DomainEventType;
 import onlinecourseplatform.repository.CourseRepository;
 import onlinecourseplatform.repository.PaymentRepository;
 import onlinecourseplatform.repository.UserRepository;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -23,11 +26,13 @@ import java.util.*;
 @RequiredArgsConstructor
 public class PaymentService {
 
-    private PaymentRepository paymentRepository;
+    private final PaymentRepository paymentRepository;
 
-    private UserRepository userRepository;
+    private final UserRepository userRepository;
 
-    private CourseRepository courseRepository;
+    private final CourseRepository courseRepository;
+
+    private final DomainEventPublisher domainEventPublisher;
 
     @Value("${razorpay.key}")
     private String razorpayKey;
@@ -69,6 +74,7 @@ public class PaymentService {
         }
     }
 
+    @Transactional
     public void savePayment(String orderId, String paymentId, String signature, Double amount, Long userId, Long courseId) {
         User user = userRepository.findById(userId).orElseThrow();
         Course course = courseRepository.findById(courseId).orElseThrow();
@@ -85,6 +91,12 @@ public class PaymentService {
                 .course(course)
                 .build();
 
-        paymentRepository.save(payment);
+        Payment saved = paymentRepository.save(payment);
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userId", userId);
+        payload.put("courseId", courseId);
+        payload.put("amount", amount);
+        payload.put("orderId", orderId);
+        domainEventPublisher.publish(DomainEventType.PAYMENT_SUCCEEDED, saved.getId(), payload);
     }
 }
\ No newline at end of file
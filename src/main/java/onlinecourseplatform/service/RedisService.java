@@ -1,7 +1,10 @@
 package onlinecourseplatform.service;
 
+import io.opentelemetry.api.trace.SpanKind;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import onlinecourseplatform.observability.Spans;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
@@ -17,8 +20,14 @@ import java.util.concurrent.TimeUnit;
 public class RedisService {
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final Spans spans;
 
     private static final String TOKEN_PREFIX = "TOKEN:";
+    private static final String IDEMPOTENCY_PREFIX = "IDEMPOTENCY:";
+    private static final char OUTCOME_SEPARATOR = '|';
+
+    @Value("${app.idempotency.lease-seconds:30}")
+    private long idempotencyLeaseSeconds;
 
     /**
      * Saves a JWT token in Redis for the given user ID.
@@ -26,24 +35,75 @@ public class RedisService {
      */
     public void saveToken(Long userId, String token) {
         String key = TOKEN_PREFIX + userId;
-        redisTemplate.opsForValue().set(key, token, 1, TimeUnit.DAYS);
-        log.info("Token saved in Redis for userId={}", userId);
+        spans.inSpan("RedisService.saveToken", SpanKind.CLIENT, () -> {
+            redisTemplate.opsForValue().set(key, token, 1, TimeUnit.DAYS);
+            return null;
+        });
+        log.debug("Token saved in Redis for userId={}", userId);
     }
 
     /**
      * Retrieves the JWT token from Redis for the given user ID.
      */
     public String getToken(Long userId) {
-        String token = redisTemplate.opsForValue().get(TOKEN_PREFIX + userId);
+        String token = spans.inSpan("RedisService.getToken", SpanKind.CLIENT,
+                () -> redisTemplate.opsForValue().get(TOKEN_PREFIX + userId));
         log.debug("Token fetched from Redis for userId={}", userId);
         return token;
     }
 
+    /**
+     * What an idempotency key was first used for, and how that request ended; the outcome is null while it runs.
+     */
+    public record IdempotencyRecord(String fingerprint, String outcome) {
+    }
+
+    /**
+     * Claims an idempotency key for a user, remembering which request it was first used for.
+     * Returns null if the key is new, otherwise what the request that claimed it recorded.
+     * The claim is only a short lease, so a key whose request died before recording an outcome blocks
+     * retries for at most that long; completed keys are kept for 1 day.
+     */
+    public IdempotencyRecord claimIdempotencyKey(Long userId, String idempotencyKey, String requestFingerprint) {
+        String key = IDEMPOTENCY_PREFIX + userId + ":" + idempotencyKey;
+        String value = spans.inSpan("RedisService.claimIdempotencyKey", SpanKind.CLIENT, () -> {
+            Boolean claimed = redisTemplate.opsForValue().setIfAbsent(key, requestFingerprint,
+                    idempotencyLeaseSeconds, TimeUnit.SECONDS);
+            return Boolean.TRUE.equals(claimed) ? null : redisTemplate.opsForValue().get(key);
+        });
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(OUTCOME_SEPARATOR);
+        return separator < 0
+                ? new IdempotencyRecord(value, null)
+                : new IdempotencyRecord(value.substring(0, separator), value.substring(separator + 1));
+    }
+
+    /**
+     * Records the outcome of the request that claimed an idempotency key, so retries can be answered the same way.
+     */
+    public void completeIdempotencyKey(Long userId, String idempotencyKey, String requestFingerprint, String outcome) {
+        String key = IDEMPOTENCY_PREFIX + userId + ":" + idempotencyKey;
+        spans.inSpan("RedisService.completeIdempotencyKey", SpanKind.CLIENT, () -> {
+            redisTemplate.opsForValue().set(key, requestFingerprint + OUTCOME_SEPARATOR + outcome, 1, TimeUnit.DAYS);
+            return null;
+        });
+    }
+
+    /**
+     * Frees an idempotency key whose request failed, so a retry runs it again.
+     */
+    public void releaseIdempotencyKey(Long userId, String idempotencyKey) {
+        spans.inSpan("RedisService.releaseIdempotencyKey", SpanKind.CLIENT,
+                () -> redisTemplate.delete(IDEMPOTENCY_PREFIX + userId + ":" + idempotencyKey));
+    }
+
     /**
      * Deletes the JWT token associated with the given user ID from Redis.
      */
     public void deleteToken(Long userId) {
-        redisTemplate.delete(TOKEN_PREFIX + userId);
-        log.info("Token deleted from Redis for userId={}", userId);
+        spans.inSpan("RedisService.deleteToken", SpanKind.CLIENT, () -> redisTemplate.delete(TOKEN_PREFIX + userId));
+        log.debug("Token deleted from Redis for userId={}", userId);
     }
 }
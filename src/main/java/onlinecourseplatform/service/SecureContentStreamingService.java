@@ -1,6 +1,14 @@
 package onlinecourseplatform.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.context.Scope;
 import lombok.extern.slf4j.Slf4j;
+import onlinecourseplatform.media.HlsPackagingService;
+import onlinecourseplatform.media.LocalContentStore;
+import onlinecourseplatform.observability.Spans;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
@@ -13,6 +21,7 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
@@ -24,6 +33,21 @@ public class SecureContentStreamingService {
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private HlsPackagingService hlsPackagingService;
+
+    @Autowired
+    private LocalContentStore contentStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Spans spans;
+
+    private static final MediaType HLS_PLAYLIST = MediaType.parseMediaType("application/vnd.apple.mpegurl");
+    private static final MediaType MPEG_TS = MediaType.parseMediaType("video/mp2t");
+
     /**
      * Streams video content from a cloud URL, ensuring the content is served with appropriate headers
      */
@@ -34,10 +58,23 @@ public class SecureContentStreamingService {
             URLConnection connection = url.openConnection();
             connection.setRequestProperty("User-Agent", "Mozilla/5.0");
 
-            InputStream inputStream = connection.getInputStream();
+            // Times until the upstream starts sending the body; the body itself is streamed to the client
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Span span = upstreamSpan("video", url.getHost());
+            InputStream inputStream;
+            try (Scope ignored = span.makeCurrent()) {
+                inputStream = connection.getInputStream();
+            } catch (Exception e) {
+                sample.stop(upstreamTimer("video", "error"));
+                Spans.fail(span, e);
+                throw e;
+            } finally {
+                span.end();
+            }
+            sample.stop(upstreamTimer("video", "success"));
             InputStreamResource resource = new InputStreamResource(inputStream);
 
-            log.info("Streaming video from URL: {}", directUrl);
+            log.debug("Streaming video from URL: {}", directUrl);
             return ResponseEntity.ok()
                     .contentType(MediaType.parseMediaType("video/mp4"))
                     .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
@@ -59,18 +96,30 @@ public class SecureContentStreamingService {
         try {
             String directUrl = cloudUrlProcessor.getDirectDownloadUrl(cloudUrl);
 
-            ResponseEntity<byte[]> response = restTemplate.exchange(
-                    directUrl,
-                    HttpMethod.GET,
-                    createHttpEntity(),
-                    byte[].class
-            );
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Span span = upstreamSpan("document", URI.create(directUrl).getHost());
+            ResponseEntity<byte[]> response;
+            try (Scope ignored = span.makeCurrent()) {
+                response = restTemplate.exchange(
+                        directUrl,
+                        HttpMethod.GET,
+                        createHttpEntity(),
+                        byte[].class
+                );
+            } catch (Exception e) {
+                sample.stop(upstreamTimer("document", "error"));
+                Spans.fail(span, e);
+                throw e;
+            } finally {
+                span.end();
+            }
+            sample.stop(upstreamTimer("document", "success"));
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 ByteArrayInputStream inputStream = new ByteArrayInputStream(response.getBody());
                 InputStreamResource resource = new InputStreamResource(inputStream);
 
-                log.info("Streaming document from URL: {}", directUrl);
+                log.debug("Streaming document from URL: {}", directUrl);
                 return ResponseEntity.ok()
                         .contentType(MediaType.APPLICATION_PDF)
                         .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
@@ -89,6 +138,54 @@ public class SecureContentStreamingService {
         }
     }
 
+    /**
+     * Serves the HLS playlist of a video. The playlist may still grow while packaging runs, so it is not cached.
+     */
+    public ResponseEntity<String> streamHlsManifest(Long videoId, String segmentQuery) {
+        try {
+            return hlsPackagingService.manifest(videoId, segmentQuery)
+                    .map(manifest -> ResponseEntity.ok()
+                            .contentType(HLS_PLAYLIST)
+                            .cacheControl(CacheControl.noCache())
+                            .body(manifest))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Failed to read HLS playlist of video {}: {}", videoId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Serves one HLS segment. Segments never change once written, so clients may cache them indefinitely.
+     */
+    public ResponseEntity<Resource> streamHlsSegment(Long videoId, String segment) {
+        return contentStore.segment(videoId, segment)
+                .<ResponseEntity<Resource>>map(resource -> ResponseEntity.ok()
+                        .contentType(MPEG_TS)
+                        .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                        .body(resource))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Span for one fetch from the cloud storage hosting course content.
+     */
+    private Span upstreamSpan(String contentType, String host) {
+        Span span = spans.start("upstream.fetch " + contentType, SpanKind.CLIENT);
+        span.setAttribute("server.address", String.valueOf(host));
+        return span;
+    }
+
+    /**
+     * Timer for fetches from the cloud storage hosting course content.
+     */
+    private Timer upstreamTimer(String contentType, String outcome) {
+        return Timer.builder("app.upstream.fetch")
+                .tag("type", contentType)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     /**
      * Creates a HttpEntity with default headers for REST requests
      */
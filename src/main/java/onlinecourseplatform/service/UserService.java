@@ -26,6 +26,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final Conversion conversion;
+    private final ContentAccessService contentAccessService;
 
     /**
      * Retrieves a user based on their email address.
@@ -38,6 +39,7 @@ public class UserService {
     /**
      * Returns a list of all registered users.
      */
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsers() {
         return userRepository.findAll().stream().map(conversion::toResponseDto).collect(Collectors.toList());
     }
@@ -65,6 +67,7 @@ public class UserService {
             default -> log.info("Deleting user with ID: {}", id);
         }
         userRepository.deleteById(id);
+        contentAccessService.evictUser(id);
 
     }
 
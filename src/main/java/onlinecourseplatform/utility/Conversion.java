@@ -14,7 +14,9 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -64,23 +66,6 @@ public class Conversion {
                 .build();
     }
 
-    //Convert Course Entity → ResponseDTO
-    public BasicCourseDetailsResponse toBasicCourseDto(Course course) {
-        return BasicCourseDetailsResponse.builder()
-                .id(course.getId())
-                .title(course.getTitle())
-                .description(course.getDescription())
-                .price(course.getPrice())
-                .feedbackList(course.getFeedbackList().stream()
-                        .map(this::toResponseDto)
-                        .collect(Collectors.toList()))
-                .moduleNames(course.getModules().stream()
-                        .map(Module::getModuleName)
-                        .toList())
-                .noOfStudentsEnrolled(course.getEnrollmentList().size())
-                .build();
-    }
-
     //Convert Course RequestDTO → Entity
     public Course toEntityFromRequest(CourseRequestDTO dto) {
         return Course.builder()
@@ -111,9 +96,29 @@ public class Conversion {
     // Convert Feedback Entity → FeedbackResponseDTO
     public FeedbackResponseDTO toResponseDto(Feedback feedback) {
         return FeedbackResponseDTO.builder()
+                .id(feedback.getId())
                 .rating(feedback.getRating())
                 .review(feedback.getReview())
                 .reviewTitle(feedback.getReviewTitle())
+                .helpfulCount(feedback.getHelpfulCount())
+                .createdAt(feedback.getCreatedAt())
+                .build();
+    }
+
+    // Convert CourseRatingSummary Entity → RatingSummaryDTO
+    public RatingSummaryDTO toResponseDto(CourseRatingSummary summary) {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(1, summary.getOneStarCount());
+        histogram.put(2, summary.getTwoStarCount());
+        histogram.put(3, summary.getThreeStarCount());
+        histogram.put(4, summary.getFourStarCount());
+        histogram.put(5, summary.getFiveStarCount());
+        double average = summary.getRatingCount() == 0 ? 0
+                : Math.round(summary.getRatingSum() * 100.0 / summary.getRatingCount()) / 100.0;
+        return RatingSummaryDTO.builder()
+                .averageRating(average)
+                .ratingCount(summary.getRatingCount())
+                .histogram(histogram)
                 .build();
     }
 
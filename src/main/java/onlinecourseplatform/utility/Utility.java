@@ -8,12 +8,14 @@ import onlinecourseplatform.entity.User;
 import onlinecourseplatform.repository.CourseRepository;
 import onlinecourseplatform.repository.EnrollmentRepository;
 import onlinecourseplatform.repository.UserRepository;
+import onlinecourseplatform.security.CurrentUserContext;
 import onlinecourseplatform.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.security.Principal;
 import java.util.Objects;
@@ -26,6 +28,7 @@ public class Utility {
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final Conversion conversion;
+    private final CurrentUserContext currentUserContext;
 
     /**
      * Find course by course ID.
@@ -52,15 +55,31 @@ public class Utility {
 
     /**
      * Get user ID from Principal.
+     * Served from the request's {@link CurrentUserContext} when the auth filter resolved the same user.
      */
     public Long getUserIdFromPrincipal(Principal principal) {
-        return findUserByEmail(principal.getName()).getId();
+        return getUserIdByEmail(principal.getName());
+    }
+
+    /**
+     * Get user ID by email, skipping the lookup when it is the current request's user.
+     */
+    public Long getUserIdByEmail(String email) {
+        CurrentUserContext currentUser = resolvedCurrentUser();
+        if (currentUser != null && currentUser.getEmail().equals(email)) {
+            return currentUser.getId();
+        }
+        return findUserByEmail(email).getId();
     }
 
     /**
      * Get user ID from Spring Security authentication.
      */
     public Long getCurrentUserId() {
+        CurrentUserContext currentUser = resolvedCurrentUser();
+        if (currentUser != null) {
+            return currentUser.getId();
+        }
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         Object principal = authentication.getPrincipal();
         if (principal instanceof CustomUserDetails userDetails) {
@@ -104,6 +123,10 @@ public class Utility {
      * Get current user role.
      */
     public String getCurrentUserRole() {
+        CurrentUserContext currentUser = resolvedCurrentUser();
+        if (currentUser != null) {
+            return currentUser.getRole().name();
+        }
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new RuntimeException("No authenticated user found");
@@ -133,4 +156,15 @@ public class Utility {
     public boolean isUserEnrolled(Long userId, Long courseId) {
         return enrollmentRepository.existsByStudentIdAndCourseId(userId, courseId);
     }
+
+    /**
+     * Returns the request's current user context if one is active and populated, otherwise null.
+     * Outside of an HTTP request (startup runners, async jobs) there is no request scope to read from.
+     */
+    private CurrentUserContext resolvedCurrentUser() {
+        if (RequestContextHolder.getRequestAttributes() == null || !currentUserContext.isAuthenticated()) {
+            return null;
+        }
+        return currentUserContext;
+    }
 }
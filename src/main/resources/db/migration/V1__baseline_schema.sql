@@ -0,0 +1,122 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+create table courses (
+    price decimal(38,2) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    instructor_id bigint not null,
+    description varchar(2000),
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table document (
+    id bigint not null auto_increment,
+    module_id bigint,
+    document_filename varchar(255),
+    document_url varchar(255),
+    cloud_provider enum ('DROPBOX','GOOGLE_DRIVE','OTHER'),
+    primary key (id)
+) engine=InnoDB;
+
+create table enrollments (
+    price decimal(38,2) not null,
+    completed_at datetime(6),
+    course_id bigint not null,
+    enrolled_at datetime(6) not null,
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    status enum ('ACTIVE','COMPLETED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table feedbacks (
+    rating integer not null,
+    course_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    student_id bigint not null,
+    review_title varchar(100),
+    review varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create table module (
+    course_id bigint not null,
+    id bigint not null auto_increment,
+    module_name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table payment (
+    amount float(53),
+    course_id bigint,
+    id bigint not null auto_increment,
+    payment_date datetime(6),
+    user_id bigint,
+    order_id varchar(255),
+    payment_id varchar(255),
+    payment_method varchar(255),
+    signature varchar(255),
+    status enum ('FAILED','PENDING','SUCCESS'),
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('ADMIN','INSTRUCTOR','STUDENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table video (
+    id bigint not null auto_increment,
+    module_id bigint,
+    description varchar(255),
+    video_filename varchar(255),
+    video_url varchar(255),
+    cloud_provider enum ('DROPBOX','GOOGLE_DRIVE','OTHER'),
+    primary key (id)
+) engine=InnoDB;
+
+alter table users
+    add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table document
+    add constraint FKflmrly45rmvy6nnqeweh0naws
+    foreign key (module_id)
+    references module (id);
+
+alter table enrollments
+    add constraint FKho8mcicp4196ebpltdn9wl6co
+    foreign key (course_id)
+    references courses (id);
+
+alter table feedbacks
+    add constraint FKpafds1ak183b9x26jdv9xnvof
+    foreign key (course_id)
+    references courses (id);
+
+alter table module
+    add constraint FKiph9y50v5obbmvaytljdl46m0
+    foreign key (course_id)
+    references courses (id);
+
+alter table payment
+    add constraint FKtdlj5v85v1dxgrgmfw284yjo5
+    foreign key (course_id)
+    references courses (id);
+
+alter table payment
+    add constraint FKmi2669nkjesvp7cd257fptl6f
+    foreign key (user_id)
+    references users (id);
+
+alter table video
+    add constraint FKednm9lndg5ho0gm3evai50esa
+    foreign key (module_id)
+    references module (id);
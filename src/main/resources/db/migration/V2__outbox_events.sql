@@ -0,0 +1,24 @@
+-- Transactional outbox: domain events are written in the same transaction as the change that raised them
+-- and published afterwards by OutboxRelay. The table and index are skipped if they already exist, because
+-- databases that ran with ddl-auto=update may have created them already.
+
+create table if not exists outbox_events (
+    attempts integer not null,
+    aggregate_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    processed_at datetime(6),
+    last_error varchar(500),
+    payload varchar(2000) not null,
+    event_type enum ('COURSE_COMPLETED','ENROLLMENTS_IMPORTED','ENROLLMENT_CREATED','FEEDBACK_SUBMITTED','PAYMENT_SUCCEEDED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+set @ddl = (select if(count(*) = 0,
+    'create index idx_outbox_pending on outbox_events (processed_at, id) algorithm=inplace lock=none',
+    'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'outbox_events' and index_name = 'idx_outbox_pending');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
@@ -0,0 +1,18 @@
+-- One enrollment per student and course, so enrolling concurrently or retrying cannot create duplicates.
+-- Duplicates created before the constraint existed are removed first, keeping a completed enrollment if
+-- there is one and otherwise the earliest. The key is built online and skipped if it already exists, as in V2.
+
+delete e
+from enrollments e
+join enrollments keep
+    on keep.student_id = e.student_id and keep.course_id = e.course_id
+    and ((keep.status = 'COMPLETED' and e.status <> 'COMPLETED') or (keep.status = e.status and keep.id < e.id));
+
+set @ddl = (select if(count(*) = 0,
+    'alter table enrollments add constraint uk_enrollment_student_course unique (student_id, course_id), algorithm=inplace, lock=none',
+    'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'enrollments' and index_name = 'uk_enrollment_student_course');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
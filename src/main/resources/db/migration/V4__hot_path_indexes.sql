@@ -0,0 +1,40 @@
+-- Composite indexes for the repository hot paths, built online: ALGORITHM=INPLACE, LOCK=NONE keeps
+-- the tables readable and writable while the index builds, and MySQL errors out instead of silently
+-- falling back to a locking table copy. Each index is skipped if it already exists, because databases
+-- that ran with ddl-auto=update may have created it already.
+
+set @ddl = (select if(count(*) = 0,
+    'create index idx_course_instructor on courses (instructor_id) algorithm=inplace lock=none',
+    'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'courses' and index_name = 'idx_course_instructor');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+
+set @ddl = (select if(count(*) = 0,
+    'create index idx_enrollment_course_student on enrollments (course_id, student_id) algorithm=inplace lock=none',
+    'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'enrollments' and index_name = 'idx_enrollment_course_student');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+
+set @ddl = (select if(count(*) = 0,
+    'create index idx_feedback_course_student on feedbacks (course_id, student_id) algorithm=inplace lock=none',
+    'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'feedbacks' and index_name = 'idx_feedback_course_student');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
+
+set @ddl = (select if(count(*) = 0,
+    'create index idx_payment_user_course on payment (user_id, course_id) algorithm=inplace lock=none',
+    'do 0')
+    from information_schema.statistics
+    where table_schema = database() and table_name = 'payment' and index_name = 'idx_payment_user_course');
+prepare stmt from @ddl;
+execute stmt;
+deallocate prepare stmt;
@@ -0,0 +1,57 @@
+-- Helpful votes on reviews and a per-course rating summary that setFeedback keeps up to date, so review
+-- pages and catalog listings never aggregate the feedbacks table. The column is added instantly and the
+-- indexes are built online, as in V4.
+
+alter table feedbacks
+    add column helpful_count integer not null default 0, algorithm=instant;
+
+create index idx_feedback_course_created on feedbacks (course_id, created_at) algorithm=inplace lock=none;
+
+create index idx_feedback_course_helpful on feedbacks (course_id, helpful_count) algorithm=inplace lock=none;
+
+create table feedback_votes (
+    created_at datetime(6) not null,
+    feedback_id bigint not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table feedback_votes
+    add constraint uk_feedback_vote unique (feedback_id, user_id);
+
+alter table feedback_votes
+    add constraint fk_feedback_vote_feedback
+    foreign key (feedback_id)
+    references feedbacks (id)
+    on delete cascade;
+
+create table course_rating_summaries (
+    course_id bigint not null,
+    rating_count bigint not null default 0,
+    rating_sum bigint not null default 0,
+    one_star_count bigint not null default 0,
+    two_star_count bigint not null default 0,
+    three_star_count bigint not null default 0,
+    four_star_count bigint not null default 0,
+    five_star_count bigint not null default 0,
+    primary key (course_id)
+) engine=InnoDB;
+
+alter table course_rating_summaries
+    add constraint fk_rating_summary_course
+    foreign key (course_id)
+    references courses (id)
+    on delete cascade;
+
+-- Backfill from the feedback submitted so far
+insert into course_rating_summaries (course_id, rating_count, rating_sum, one_star_count, two_star_count,
+                                     three_star_count, four_star_count, five_star_count)
+select course_id, count(*), sum(rating),
+       sum(case when rating = 1 then 1 else 0 end),
+       sum(case when rating = 2 then 1 else 0 end),
+       sum(case when rating = 3 then 1 else 0 end),
+       sum(case when rating = 4 then 1 else 0 end),
+       sum(case when rating = 5 then 1 else 0 end)
+from feedbacks
+group by course_id;
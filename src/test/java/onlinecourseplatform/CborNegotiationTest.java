@@ -0,0 +1,85 @@
+package onlinecourseplatform;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import onlinecourseplatform.dto.responseDTOs.BasicCourseDetailsResponse;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Module;
+import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that clients asking for application/cbor get the same course and catalog data as JSON in fewer
+ * bytes, and that JSON stays the default.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CborNegotiationTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final TypeReference<List<BasicCourseDetailsResponse>> CATALOG = new TypeReference<>() {
+    };
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Test
+    void courseIsServedAsCborOnRequest() throws Exception {
+        Course course = TestData.newCourse("Binary course").modules(new ArrayList<>()).build();
+        for (int m = 0; m < 3; m++) {
+            course.getModules().add(Module.builder().moduleName("Module " + m).course(course)
+                    .videos(new ArrayList<>()).documents(new ArrayList<>()).build());
+        }
+        String path = "/api/courses/" + courseRepository.save(course).getId();
+
+        MvcResult json = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get(path).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn();
+
+        byte[] cborBody = cbor.getResponse().getContentAsByteArray();
+        byte[] jsonBody = json.getResponse().getContentAsByteArray();
+        BasicCourseDetailsResponse fromCbor = cborMapper.readValue(cborBody, BasicCourseDetailsResponse.class);
+        assertThat(fromCbor).isEqualTo(objectMapper.readValue(jsonBody, BasicCourseDetailsResponse.class));
+        assertThat(fromCbor.getModuleNames()).containsExactly("Module 0", "Module 1", "Module 2");
+        assertThat(cborBody.length).isLessThan(jsonBody.length);
+
+        byte[] jsonCatalog = mockMvc.perform(get("/api/courses/all"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cborCatalog = mockMvc.perform(get("/api/courses/all").accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(cborMapper.readValue(cborCatalog, CATALOG)).isEqualTo(objectMapper.readValue(jsonCatalog, CATALOG));
+        assertThat(cborCatalog.length).isLessThan(jsonCatalog.length);
+    }
+}
@@ -0,0 +1,102 @@
+package onlinecourseplatform;
+
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.entity.User;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.service.RedisService;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that enrolling is safe to repeat and that an Idempotency-Key replays the original outcome,
+ * including when the original call found the student already enrolled, and that a claim left without an outcome
+ * only blocks retries until its lease runs out. Redis is an in-process RESP server.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class EnrollmentIdempotencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private RedisService redisService;
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) throws IOException {
+        TestData.inMemoryRedis(registry);
+        registry.add("app.idempotency.lease-seconds", () -> "1");
+    }
+
+    @Test
+    void replaysOriginalOutcome() throws Exception {
+        Course course = testData.course("Idempotent course");
+        Course other = testData.course("Other course");
+        User student = testData.user("idempotent-student@test.local", Role.STUDENT);
+        String path = "/api/enrollments/enroll/" + course.getId();
+
+        mockMvc.perform(enroll(path, student, "first")).andExpect(status().isCreated());
+        mockMvc.perform(enroll(path, student, "first")).andExpect(status().isCreated());
+        mockMvc.perform(enroll(path, student, null)).andExpect(status().isOk());
+
+        // A new key for an existing enrollment reports "already enrolled", and so do its retries
+        mockMvc.perform(enroll(path, student, "second")).andExpect(status().isOk());
+        mockMvc.perform(enroll(path, student, "second")).andExpect(status().isOk());
+
+        mockMvc.perform(enroll("/api/enrollments/enroll/" + other.getId(), student, "first"))
+                .andExpect(status().isBadRequest());
+        assertThat(enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), other.getId())).isFalse();
+
+        // A failed request frees its key, so the retry runs again instead of waiting on an outcome that never comes
+        String missing = "/api/enrollments/enroll/" + Long.MAX_VALUE;
+        mockMvc.perform(enroll(missing, student, "missing")).andExpect(status().isBadRequest());
+        mockMvc.perform(enroll(missing, student, "missing"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Course not found with ID: " + Long.MAX_VALUE));
+    }
+
+    @Test
+    void abandonedClaimStopsBlockingOnceItsLeaseRunsOut() throws Exception {
+        Course course = testData.course("Leased course");
+        User student = testData.user("lease-student@test.local", Role.STUDENT);
+        String path = "/api/enrollments/enroll/" + course.getId();
+
+        // As if the instance died between claiming the key and recording the outcome
+        assertThat(redisService.claimIdempotencyKey(student.getId(), "abandoned", "enroll:" + course.getId())).isNull();
+        mockMvc.perform(enroll(path, student, "abandoned")).andExpect(status().isConflict());
+
+        Thread.sleep(1500);
+        mockMvc.perform(enroll(path, student, "abandoned")).andExpect(status().isCreated());
+
+        // The recorded outcome outlives the lease
+        Thread.sleep(1500);
+        mockMvc.perform(enroll(path, student, "abandoned")).andExpect(status().isCreated());
+    }
+
+    private MockHttpServletRequestBuilder enroll(String path, User student, String idempotencyKey) {
+        MockHttpServletRequestBuilder request = post(path).header("Authorization", testData.bearer(student));
+        return idempotencyKey == null ? request : request.header("Idempotency-Key", idempotencyKey);
+    }
+}
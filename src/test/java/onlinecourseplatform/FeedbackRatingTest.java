@@ -0,0 +1,99 @@
+package onlinecourseplatform;
+
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Enrollment;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.entity.Status;
+import onlinecourseplatform.entity.User;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the rating summary follows submitted feedback, that helpful votes count once per user,
+ * and that reviews page in both orders.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class FeedbackRatingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Test
+    void summaryVotesAndPages() throws Exception {
+        Course course = testData.course("Rated course");
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            User student = testData.user("rating-student" + i + "@test.local", Role.STUDENT);
+            enrollmentRepository.save(Enrollment.builder().studentId(student.getId()).course(course)
+                    .price(course.getPrice()).enrolledAt(LocalDateTime.now()).status(Status.ACTIVE).build());
+            students.add(student);
+        }
+
+        int[] ratings = {5, 4, 5};
+        long[] feedbackIds = new long[ratings.length];
+        for (int i = 0; i < ratings.length; i++) {
+            String body = "{\"rating\":" + ratings[i] + ",\"reviewTitle\":\"Review " + i + "\",\"review\":\"Text\"}";
+            String response = mockMvc.perform(post("/api/courses/feedbacks/course/" + course.getId())
+                            .header("Authorization", testData.bearer(students.get(i)))
+                            .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            feedbackIds[i] = Long.parseLong(response.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        }
+
+        mockMvc.perform(get("/api/courses/feedbacks/course/" + course.getId() + "/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ratingCount").value(3))
+                .andExpect(jsonPath("$.averageRating").value(4.67))
+                .andExpect(jsonPath("$.histogram.4").value(1))
+                .andExpect(jsonPath("$.histogram.5").value(2))
+                .andExpect(jsonPath("$.histogram.1").value(0));
+
+        // The oldest review gets one vote from another student, counted once; its author's vote is ignored
+        long voted = feedbackIds[0];
+        for (User voter : List.of(students.get(3), students.get(3), students.get(0))) {
+            mockMvc.perform(post("/api/courses/feedbacks/" + voted + "/helpful").header("Authorization", testData.bearer(voter)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.helpfulCount").value(1));
+        }
+
+        mockMvc.perform(get("/api/courses/feedbacks/course/" + course.getId()).param("sort", "HELPFUL").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(voted))
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(3));
+        mockMvc.perform(get("/api/courses/feedbacks/course/" + course.getId()).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(feedbackIds[2]));
+
+        mockMvc.perform(get("/api/courses/" + course.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ratingSummary.ratingCount").value(3))
+                .andExpect(jsonPath("$.feedbackList").doesNotExist());
+    }
+}
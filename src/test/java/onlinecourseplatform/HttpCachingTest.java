@@ -0,0 +1,161 @@
+package onlinecourseplatform;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import onlinecourseplatform.datasource.ReadYourWrites;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.entity.User;
+import onlinecourseplatform.event.CatalogVersionEventHandler;
+import onlinecourseplatform.event.DomainEvent;
+import onlinecourseplatform.event.DomainEventType;
+import onlinecourseplatform.httpcache.CatalogVersions;
+import onlinecourseplatform.observability.QueryCountFilter;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that public catalog responses carry validators, that matching conditional requests get a 304
+ * without any SQL, that course changes and outbox events move the versions on, and that only responses built
+ * within the replica lag window after a change are read from the primary.
+ * Redis is an in-process RESP server.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+class HttpCachingTest {
+
+    private static final String PINNED = "pinnedToPrimary";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CatalogVersions catalogVersions;
+    @Autowired
+    private CatalogVersionEventHandler eventHandler;
+    @Autowired
+    private TestData testData;
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) throws IOException {
+        TestData.inMemoryRedis(registry);
+        registry.add("app.http-cache.enabled", () -> "true");
+        registry.add("app.datasource.routing.max-lag-seconds", () -> "1");
+        registry.add("app.datasource.routing.lag-check-interval-ms", () -> "0");
+    }
+
+    /**
+     * Records whether the handler ran pinned to the primary.
+     */
+    @TestConfiguration
+    static class PinRecorder implements WebMvcConfigurer {
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                       ModelAndView modelAndView) {
+                    request.setAttribute(PINNED, ReadYourWrites.isPinnedToPrimary());
+                }
+            });
+        }
+    }
+
+    @Test
+    void courseRevalidation() throws Exception {
+        Course course = testData.course("Cached course");
+        String path = "/api/courses/" + course.getId();
+
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"course-" + course.getId() + "-")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("public")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("s-maxage=60")))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andExpect(request().attribute(QueryCountFilter.QUERY_COUNT_ATTRIBUTE, 0));
+
+        // Authenticated callers may get a different view of the same URL, so they are left alone
+        User student = testData.user("cache-student@test.local", Role.STUDENT);
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .header(HttpHeaders.AUTHORIZATION, testData.bearer(student)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        eventHandler.handle(new DomainEvent(1L, DomainEventType.ENROLLMENTS_IMPORTED, course.getId(),
+                Map.of("courseId", course.getId(), "enrolled", 3), LocalDateTime.now()));
+        String bumped = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(bumped).isNotEqualTo(etag);
+
+        String reviews = "/api/courses/feedbacks/course/" + course.getId();
+        String lastModified = mockMvc.perform(get(reviews))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        mockMvc.perform(get(reviews).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void catalogRevalidation() throws Exception {
+        String etag = mockMvc.perform(get("/api/courses/all"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"catalog-")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/courses/popular").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Any course changing invalidates the catalog
+        catalogVersions.bumpCourse(Long.MAX_VALUE);
+        mockMvc.perform(get("/api/courses/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void onlyResponsesBuiltRightAfterABumpReadFromThePrimary() throws Exception {
+        Course course = testData.course("Replicated course");
+        String path = "/api/courses/" + course.getId();
+
+        // A replica may not have the change yet, so the new ETag must not be paired with its data
+        catalogVersions.bumpCourse(course.getId());
+        mockMvc.perform(get(path)).andExpect(status().isOk()).andExpect(request().attribute(PINNED, true));
+
+        Thread.sleep(1100);
+        mockMvc.perform(get(path)).andExpect(status().isOk()).andExpect(request().attribute(PINNED, false));
+    }
+}
@@ -0,0 +1,169 @@
+package onlinecourseplatform;
+
+import onlinecourseplatform.entity.CloudProvider;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.CourseRatingSummary;
+import onlinecourseplatform.entity.Document;
+import onlinecourseplatform.entity.Enrollment;
+import onlinecourseplatform.entity.Feedback;
+import onlinecourseplatform.entity.Module;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.entity.Status;
+import onlinecourseplatform.entity.User;
+import onlinecourseplatform.entity.Video;
+import onlinecourseplatform.observability.QueryCountFilter;
+import onlinecourseplatform.repository.CourseRatingSummaryRepository;
+import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.repository.FeedbackRepository;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.request;
+
+/**
+ * Fails the build when an endpoint issues more SQL statements than its budget.
+ * The data set has several courses, each with several modules, videos, documents, enrollments and
+ * feedback, so a query per row (N+1) pushes the count well past the budget.
+ * Budgets are the counts measured on this data set; lower them whenever a fix removes queries.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestData.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int COURSES = 4;
+    private static final int MODULES_PER_COURSE = 3;
+    private static final int STUDENTS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private CourseRatingSummaryRepository ratingSummaryRepository;
+
+    private final List<Course> courses = new ArrayList<>();
+    private final List<User> students = new ArrayList<>();
+    private User instructor;
+    private User admin;
+    private Long videoId;
+
+    @BeforeAll
+    void seed() {
+        admin = testData.user("budget-admin@test.local", Role.ADMIN);
+        instructor = testData.user("budget-instructor@test.local", Role.INSTRUCTOR);
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(testData.user("budget-student" + i + "@test.local", Role.STUDENT));
+        }
+        for (int c = 0; c < COURSES; c++) {
+            Course course = TestData.newCourse("Budget course " + c)
+                    .description("Course used by the query budget test")
+                    .instructorId(instructor.getId())
+                    .price(BigDecimal.valueOf(499))
+                    .modules(new ArrayList<>())
+                    .build();
+            for (int m = 0; m < MODULES_PER_COURSE; m++) {
+                Module module = Module.builder().moduleName("Module " + m).course(course)
+                        .videos(new ArrayList<>()).documents(new ArrayList<>()).build();
+                for (int v = 0; v < 2; v++) {
+                    module.getVideos().add(Video.builder().URL("https://drive.google.com/file/d/v" + c + m + v + "/view")
+                            .filename("video.mp4").cloudProvider(CloudProvider.GOOGLE_DRIVE).module(module).build());
+                    module.getDocuments().add(Document.builder().URL("https://drive.google.com/file/d/d" + c + m + v + "/view")
+                            .filename("notes.pdf").cloudProvider(CloudProvider.GOOGLE_DRIVE).module(module).build());
+                }
+                course.getModules().add(module);
+            }
+            courses.add(courseRepository.save(course));
+        }
+        videoId = courses.get(0).getModules().get(0).getVideos().get(0).getId();
+
+        for (Course course : courses) {
+            CourseRatingSummary ratings = CourseRatingSummary.empty(course.getId());
+            for (User student : students.subList(0, STUDENTS - 1)) {
+                enrollmentRepository.save(Enrollment.builder().studentId(student.getId()).course(course)
+                        .price(course.getPrice()).enrolledAt(LocalDateTime.now()).status(Status.ACTIVE).build());
+                feedbackRepository.save(Feedback.builder().course(course).studentId(student.getId())
+                        .rating(4).review("Good").createdAt(LocalDateTime.now()).build());
+                ratings.add(4);
+            }
+            ratingSummaryRepository.save(ratings);
+        }
+    }
+
+    /**
+     * Endpoint, caller and the maximum number of SQL statements it may issue.
+     */
+    Stream<Arguments> budgets() {
+        Long courseId = courses.get(0).getId();
+        Long lastCourseId = courses.get(COURSES - 1).getId();
+        Long feedbackId = feedbackRepository.findByCourseId(courseId).get(0).getId();
+        User student = students.get(0);
+        User newStudent = students.get(STUDENTS - 1);
+        return Stream.of(
+                Arguments.of(HttpMethod.GET, "/api/courses/all", null, 4),
+                Arguments.of(HttpMethod.GET, "/api/courses/" + courseId, null, 4),
+                Arguments.of(HttpMethod.GET, "/api/courses/" + courseId, student, 5),
+                Arguments.of(HttpMethod.GET, "/api/courses/" + courseId, instructor, 6),
+                Arguments.of(HttpMethod.GET, "/api/courses/popular", null, 5),
+                Arguments.of(HttpMethod.GET, "/api/courses/search?query=budget", null, 4),
+                Arguments.of(HttpMethod.GET, "/api/courses/instructor", instructor, 7),
+                Arguments.of(HttpMethod.GET, "/api/courses/" + courseId + "/enrollments?page=0&size=2", instructor, 4),
+                Arguments.of(HttpMethod.GET, "/api/courses/" + courseId + "/students", instructor, 8),
+                Arguments.of(HttpMethod.GET, "/api/courses/" + courseId + "/students-count", instructor, 8),
+                Arguments.of(HttpMethod.GET, "/api/courses/feedbacks/" + feedbackId, instructor, 2),
+                Arguments.of(HttpMethod.GET, "/api/courses/feedbacks/course/" + courseId, instructor, 3),
+                Arguments.of(HttpMethod.GET, "/api/enrollments", student, 2),
+                Arguments.of(HttpMethod.GET, "/api/enrollments/courses", student, 5),
+                Arguments.of(HttpMethod.GET, "/api/enrollments/all", admin, 2),
+                Arguments.of(HttpMethod.GET, "/api/enrollments/" + courseId + "/is-enrolled", student, 2),
+                Arguments.of(HttpMethod.POST, "/api/enrollments/enroll/" + lastCourseId, newStudent, 5),
+                Arguments.of(HttpMethod.GET, "/api/users/me", student, 2),
+                Arguments.of(HttpMethod.GET, "/api/users/all", admin, 2),
+                Arguments.of(HttpMethod.GET, "/api/secure/content/video/" + videoId + "/signed-url", student, 3)
+        );
+    }
+
+    @ParameterizedTest(name = "{0} {1} as {2}")
+    @MethodSource("budgets")
+    void staysWithinQueryBudget(HttpMethod method, String path, User caller, int maxQueries) throws Exception {
+        MockHttpServletRequestBuilder request = request(method, path);
+        if (caller != null) {
+            request.header("Authorization", testData.bearer(caller));
+        }
+
+        MvcResult result = mockMvc.perform(request).andReturn();
+
+        assertThat(result.getResponse().getStatus()).as("status of %s %s", method, path).isLessThan(400);
+        Integer queries = (Integer) result.getRequest().getAttribute(QueryCountFilter.QUERY_COUNT_ATTRIBUTE);
+        assertThat(queries).as("SQL statements issued by %s %s", method, path).isLessThanOrEqualTo(maxQueries);
+    }
+}
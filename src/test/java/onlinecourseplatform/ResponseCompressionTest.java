@@ -0,0 +1,68 @@
+package onlinecourseplatform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks over real HTTP that the catalog is gzipped only for clients that ask for it, and that the
+ * application ObjectMapper has Blackbird installed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ResponseCompressionTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void catalogIsGzippedWhenAccepted() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            courseRepository.save(TestData.newCourse("Compressed course " + i)
+                    .description("A course description long enough to make the catalog worth compressing").build());
+        }
+
+        HttpResponse<byte[]> plain = get("identity");
+        HttpResponse<byte[]> gzipped = get("gzip");
+
+        assertThat(plain.statusCode()).isEqualTo(200);
+        assertThat(plain.headers().firstValue("Content-Encoding")).isEmpty();
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzipped.body().length).isLessThan(plain.body().length / 2);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.body());
+        }
+    }
+
+    @Test
+    void blackbirdIsRegistered() {
+        assertThat(objectMapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+    }
+
+    private HttpResponse<byte[]> get(String encoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/courses/all"))
+                .header("Accept-Encoding", encoding).GET().build();
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,118 @@
+package onlinecourseplatform;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.entity.User;
+import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the application's spans join the trace of the HTTP request that caused them,
+ * including work handed off to the background executors.
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+@Import(TestData.class)
+class TracingTest {
+
+    @TestConfiguration
+    static class ExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TestData testData;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private InMemorySpanExporter exporter;
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @BeforeEach
+    void reset() {
+        flush();
+        exporter.reset();
+    }
+
+    @Test
+    void authenticatedRequestTracesJwtCheckAndRepositoryCalls() throws Exception {
+        User student = testData.user("trace-student@test.local", Role.STUDENT);
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", testData.bearer(student))).andExpect(status().isOk());
+
+        SpanData request = awaitSpan(span -> span.getKind() == SpanKind.SERVER);
+        SpanData jwt = awaitSpan(span -> span.getName().equals("JwtAuthenticationFilter"));
+        SpanData lookup = awaitSpan(span -> span.getName().equals("UserRepository.findByEmail"));
+        assertThat(jwt.getTraceId()).isEqualTo(request.getTraceId());
+        assertThat(lookup.getTraceId()).isEqualTo(request.getTraceId());
+        assertThat(lookup.getKind()).isEqualTo(SpanKind.CLIENT);
+        assertThat(lookup.getAttributes().get(AttributeKey.stringKey("db.system"))).isEqualTo("h2");
+    }
+
+    @Test
+    void backgroundWorkStaysInTheRequestTrace() throws Exception {
+        User admin = testData.user("trace-admin@test.local", Role.ADMIN);
+        User instructor = testData.user("trace-instructor@test.local", Role.INSTRUCTOR);
+        User student = testData.user("trace-enrollee@test.local", Role.STUDENT);
+        Course course = courseRepository.save(TestData.newCourse("Traced course").instructorId(instructor.getId()).build());
+
+        mockMvc.perform(post("/api/enrollments/bulk").header("Authorization", testData.bearer(admin))
+                        .contentType("text/csv").content(student.getId() + "," + course.getId() + "\n"))
+                .andExpect(status().isAccepted());
+
+        SpanData request = awaitSpan(span -> span.getKind() == SpanKind.SERVER);
+        SpanData outboxWrite = awaitSpan(span -> span.getName().equals("OutboxEventRepository.save"));
+        assertThat(outboxWrite.getTraceId()).isEqualTo(request.getTraceId());
+    }
+
+    private SpanData awaitSpan(Predicate<SpanData> matcher) throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            flush();
+            List<SpanData> spans = exporter.getFinishedSpanItems();
+            for (SpanData span : spans) {
+                if (matcher.test(span)) {
+                    return span;
+                }
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("No matching span among " + exporter.getFinishedSpanItems().stream().map(SpanData::getName).toList());
+    }
+
+    private void flush() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,27 @@
+package onlinecourseplatform.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void staysInRangeAndFavoursLowRanks() {
+        ZipfSampler sampler = new ZipfSampler(1000, 1.1);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] hits = new int[1001];
+        for (int i = 0; i < 100_000; i++) {
+            int rank = sampler.sample(random);
+            assertTrue(rank >= 1 && rank <= 1000, "rank " + rank);
+            hits[rank]++;
+        }
+
+        // With exponent 1.1 the top rank takes roughly 19% of draws and rank 2 about half as many
+        assertTrue(hits[1] > 15_000 && hits[1] < 23_000, "top rank drew " + hits[1]);
+        assertTrue(hits[1] > 1.8 * hits[2] && hits[2] > hits[10] && hits[10] > hits[100]);
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.1));
+    }
+}
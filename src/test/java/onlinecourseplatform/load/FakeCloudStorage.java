@@ -0,0 +1,74 @@
+package onlinecourseplatform.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for Google Drive and Dropbox: serves a fixed-size file at any path under /files/,
+ * honouring single byte-range requests the way the real storage does.
+ */
+class FakeCloudStorage implements AutoCloseable {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    private final HttpServer server;
+    private final byte[] content;
+
+    FakeCloudStorage(int fileSizeBytes) throws IOException {
+        content = new byte[fileSizeBytes];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/files/", this::serve);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    /**
+     * URL of a file on this server; the cloud URL processor passes it through unchanged.
+     */
+    String url(String filename) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/files/" + filename;
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        int from = 0;
+        int to = content.length - 1;
+        int status = 200;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        Matcher matcher = range == null ? null : RANGE.matcher(range);
+        if (matcher != null && matcher.matches()) {
+            from = Integer.parseInt(matcher.group(1));
+            if (!matcher.group(2).isEmpty()) {
+                to = Math.min(to, Integer.parseInt(matcher.group(2)));
+            }
+            if (from > to) {
+                exchange.getResponseHeaders().set("Content-Range", "bytes */" + content.length);
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+                return;
+            }
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + content.length);
+        }
+        exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+        exchange.getResponseHeaders().set("Content-Type", "video/mp4");
+        exchange.sendResponseHeaders(status, to - from + 1L);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(content, from, to - from + 1);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
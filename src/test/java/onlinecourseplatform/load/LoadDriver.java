@@ -0,0 +1,110 @@
+package onlinecourseplatform.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a scenario with a fixed number of concurrent virtual users for a fixed time and reports
+ * throughput and latency percentiles. Each report is also written as JSON to target/load-reports.
+ */
+@Slf4j
+class LoadDriver {
+
+    private static final Path REPORT_DIR = Path.of("target", "load-reports");
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * One request of a scenario; returns the HTTP status. The user index lets scenarios spread load over accounts.
+     */
+    @FunctionalInterface
+    interface Step {
+        int execute(int user, long iteration) throws Exception;
+    }
+
+    /**
+     * Latencies are in milliseconds.
+     */
+    record Report(String scenario, int users, long requests, long errors, double throughputPerSecond,
+                  double p50, double p95, double p99, double max) {
+
+        @Override
+        public String toString() {
+            return String.format("%-18s users=%-4d requests=%-7d errors=%-5d throughput=%8.1f/s  p50=%7.2fms  p95=%7.2fms  p99=%7.2fms  max=%7.2fms",
+                    scenario, users, requests, errors, throughputPerSecond, p50, p95, p99, max);
+        }
+    }
+
+    private final int users;
+    private final Duration duration;
+
+    LoadDriver(int users, Duration duration) {
+        this.users = users;
+        this.duration = duration;
+    }
+
+    Report run(String scenario, Step step) throws Exception {
+        Recorder recorder = new Recorder(3);
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> running = new ArrayList<>();
+        for (int user = 0; user < users; user++) {
+            int index = user;
+            running.add(executor.submit(() -> {
+                for (long iteration = 0; System.nanoTime() < deadline; iteration++) {
+                    long begin = System.nanoTime();
+                    try {
+                        if (step.execute(index, iteration) >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    recorder.recordValue(System.nanoTime() - begin);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> user : running) {
+            user.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        Histogram histogram = recorder.getIntervalHistogram();
+        Report report = new Report(scenario, users, histogram.getTotalCount(), errors.get(),
+                histogram.getTotalCount() / elapsedSeconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()));
+        log.info("{}", report);
+        write(report);
+        return report;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static void write(Report report) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        JSON.writeValue(REPORT_DIR.resolve(report.scenario() + ".json").toFile(), report);
+    }
+}
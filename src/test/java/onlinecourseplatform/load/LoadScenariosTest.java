@@ -0,0 +1,215 @@
+package onlinecourseplatform.load;
+
+import onlinecourseplatform.entity.CloudProvider;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Enrollment;
+import onlinecourseplatform.entity.Module;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.entity.Status;
+import onlinecourseplatform.entity.User;
+import onlinecourseplatform.entity.Video;
+import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.repository.EnrollmentRepository;
+import onlinecourseplatform.repository.UserRepository;
+import onlinecourseplatform.support.TestData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load scenarios against the real HTTP stack. MySQL is replaced by H2 in MySQL mode, Redis by an
+ * in-process RESP server, and Google Drive/Dropbox by {@link FakeCloudStorage}, so nothing external is needed.
+ * Excluded from the default build; run with {@code mvn -Pload test} and tune with -Dload.users and
+ * -Dload.duration (seconds).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(TestData.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LoadScenariosTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 32);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 15));
+    private static final int COURSES = 20;
+    private static final int MODULES_PER_COURSE = 6;
+    private static final int VIDEOS_PER_MODULE = 4;
+    private static final int VIDEO_BYTES = 2 * 1024 * 1024;
+    private static final String PASSWORD = "load-test-password";
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private static FakeCloudStorage cloudStorage;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private TestData testData;
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final LoadDriver driver = new LoadDriver(USERS, DURATION);
+    private final List<User> students = new ArrayList<>();
+    private final List<String> studentBearers = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+    private final List<Long> videoIds = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) throws IOException {
+        TestData.inMemoryRedis(registry);
+        cloudStorage = new FakeCloudStorage(VIDEO_BYTES);
+        registry.add("db.query-plan-check.enabled", () -> "false");
+        registry.add("app.query-count.header-enabled", () -> "false");
+    }
+
+    @BeforeAll
+    void seed() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        User instructor = userRepository.save(TestData.newUser("load-instructor@test.local", Role.INSTRUCTOR).password(passwordHash).build());
+        for (int i = 0; i < USERS; i++) {
+            User student = userRepository.save(TestData.newUser("load-student" + i + "@test.local", Role.STUDENT)
+                    .password(passwordHash).build());
+            students.add(student);
+            studentBearers.add(testData.bearer(student));
+        }
+        for (int c = 0; c < COURSES; c++) {
+            Course course = TestData.newCourse("Load course " + c).description("Course " + c + " of the load test catalog")
+                    .instructorId(instructor.getId()).price(BigDecimal.valueOf(499)).modules(new ArrayList<>()).build();
+            for (int m = 0; m < MODULES_PER_COURSE; m++) {
+                Module module = Module.builder().moduleName("Module " + m).course(course)
+                        .videos(new ArrayList<>()).documents(new ArrayList<>()).build();
+                for (int v = 0; v < VIDEOS_PER_MODULE; v++) {
+                    module.getVideos().add(Video.builder().URL(cloudStorage.url("c" + c + "m" + m + "v" + v + ".mp4"))
+                            .filename("lecture.mp4").cloudProvider(CloudProvider.OTHER).module(module).build());
+                }
+                course.getModules().add(module);
+            }
+            courses.add(courseRepository.save(course));
+        }
+        // Everyone is enrolled in the first course so they can stream its videos
+        Course streamed = courses.get(0);
+        for (User student : students) {
+            enrollmentRepository.save(Enrollment.builder().studentId(student.getId()).course(streamed)
+                    .price(streamed.getPrice()).enrolledAt(LocalDateTime.now()).status(Status.ACTIVE).build());
+        }
+        streamed.getModules().forEach(module -> module.getVideos().forEach(video -> videoIds.add(video.getId())));
+    }
+
+    @AfterAll
+    void stopStandIns() throws IOException {
+        cloudStorage.close();
+    }
+
+    /**
+     * Anonymous visitors paging through the catalog, the popular list, search and course pages.
+     */
+    @Test
+    @Order(1)
+    void catalogBrowse() throws Exception {
+        LoadDriver.Report report = driver.run("catalog-browse", (user, iteration) -> {
+            String path = switch ((int) (iteration % 4)) {
+                case 0 -> "/api/courses/all";
+                case 1 -> "/api/courses/popular";
+                case 2 -> "/api/courses/search?query=load";
+                default -> "/api/courses/" + courses.get((int) ((user + iteration) % COURSES)).getId();
+            };
+            return send(get(path).build());
+        });
+        assertHealthy(report);
+    }
+
+    /**
+     * Every student logging in at once: BCrypt verification plus the Redis token lookup.
+     */
+    @Test
+    @Order(2)
+    void loginStorm() throws Exception {
+        LoadDriver.Report report = driver.run("login-storm", (user, iteration) -> {
+            String body = "{\"email\":\"" + students.get(user).getEmail() + "\",\"password\":\"" + PASSWORD + "\"}";
+            return send(request("/api/auth/login").header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build());
+        });
+        assertHealthy(report);
+    }
+
+    /**
+     * Students racing to enroll in the same newly opened course; repeats are idempotent replays.
+     */
+    @Test
+    @Order(3)
+    void enrollmentRush() throws Exception {
+        Long courseId = courses.get(1).getId();
+        LoadDriver.Report report = driver.run("enrollment-rush", (user, iteration) ->
+                send(request("/api/enrollments/enroll/" + courseId)
+                        .header("Authorization", studentBearers.get(user))
+                        .header("Idempotency-Key", "rush-" + user)
+                        .POST(HttpRequest.BodyPublishers.noBody()).build()));
+        assertHealthy(report);
+        assertThat(enrollmentRepository.existsByStudentIdAndCourseId(students.get(0).getId(), courseId)).isTrue();
+    }
+
+    /**
+     * Enrolled students streaming lecture videos, each fetched from the fake cloud storage.
+     */
+    @Test
+    @Order(4)
+    void concurrentVideoStreaming() throws Exception {
+        LoadDriver.Report report = driver.run("video-streaming", (user, iteration) -> {
+            Long videoId = videoIds.get((int) ((user + iteration) % videoIds.size()));
+            return send(get("/api/secure/content/video/" + videoId)
+                    .header("Authorization", studentBearers.get(user)).build());
+        });
+        assertHealthy(report);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static void assertHealthy(LoadDriver.Report report) {
+        assertThat(report.requests()).as("requests completed by %s", report.scenario()).isPositive();
+        assertThat((double) report.errors() / report.requests()).as("error rate of %s", report.scenario())
+                .isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+}
@@ -0,0 +1,76 @@
+package onlinecourseplatform.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Cuts a generated 13-second clip into segments. Needs ffmpeg on the PATH (or -Dffmpeg.path) and is skipped otherwise.
+ */
+class FfmpegSegmenterTest {
+
+    private static final String FFMPEG = System.getProperty("ffmpeg.path", "ffmpeg");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void cutsMpegTsSegmentsAtKeyframes() throws Exception {
+        assumeTrue(ffmpegAvailable(), "ffmpeg not available");
+        Path clip = tempDir.resolve("clip.mp4");
+        // Keyframe every 2 seconds, so 6-second segments can be cut exactly
+        Process generate = new ProcessBuilder(FFMPEG, "-hide_banner", "-loglevel", "error", "-nostdin",
+                "-f", "lavfi", "-i", "testsrc=duration=13:size=160x120:rate=25",
+                "-f", "lavfi", "-i", "sine=duration=13",
+                "-c:v", "mpeg2video", "-g", "50", "-c:a", "aac", "-shortest", clip.toString())
+                .inheritIO().start();
+        assertEquals(0, generate.waitFor());
+
+        List<byte[]> segments = new ArrayList<>();
+        List<Double> durations = new ArrayList<>();
+        try (InputStream source = Files.newInputStream(clip)) {
+            new FfmpegSegmenter(FFMPEG, 6).segment(source, (index, data, durationSeconds) -> {
+                assertEquals(segments.size(), index);
+                segments.add(data);
+                durations.add(durationSeconds);
+            });
+        }
+
+        assertEquals(3, segments.size());
+        for (byte[] segment : segments) {
+            assertEquals(0x47, segment[0], "MPEG-TS sync byte");
+            assertEquals(0, segment.length % 188, "whole MPEG-TS packets");
+        }
+        assertEquals(6.0, durations.get(0), 0.1);
+        assertEquals(13.0, durations.stream().mapToDouble(Double::doubleValue).sum(), 0.2);
+    }
+
+    @Test
+    void rejectsInputThatIsNotVideo() throws Exception {
+        assumeTrue(ffmpegAvailable(), "ffmpeg not available");
+        FfmpegSegmenter segmenter = new FfmpegSegmenter(FFMPEG, 6);
+        assertThrows(IOException.class, () -> segmenter.segment(
+                InputStream.nullInputStream(), (index, data, durationSeconds) -> fail("no segment expected")));
+    }
+
+    private static boolean ffmpegAvailable() {
+        try {
+            Process process = new ProcessBuilder(FFMPEG, "-version").redirectErrorStream(true).start();
+            process.getInputStream().transferTo(OutputStream.nullOutputStream());
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package onlinecourseplatform.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HlsPackagingServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void packagesLocalFileIntoSegmentsAndPlaylist() throws Exception {
+        Path sourceDir = Files.createDirectories(tempDir.resolve("source"));
+        // 600 bytes -> 250 + 250 + 100
+        Files.write(sourceDir.resolve("lecture.mp4"), new byte[600]);
+
+        LocalContentStore store = new LocalContentStore(tempDir.resolve("store"));
+        // Stands in for ffmpeg: 250-byte segments of 2 seconds each
+        VideoSegmenter segmenter = (source, sink) -> {
+            byte[] data = source.readAllBytes();
+            for (int index = 0, from = 0; from < data.length; index++, from += 250) {
+                sink.accept(index, Arrays.copyOfRange(data, from, Math.min(data.length, from + 250)), 2.0);
+            }
+        };
+        HlsPackagingService service = new HlsPackagingService(new LocalFileMediaSource(sourceDir), segmenter, store);
+
+        // The playlist format must not follow the JVM's locale (no "2,000") or line separator
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            service.packageVideo(42L, "https://drive.google.com/files/lecture.mp4");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        String manifest = store.readManifest(42L).orElseThrow();
+        assertTrue(manifest.contains("#EXT-X-PLAYLIST-TYPE:VOD"));
+        assertTrue(manifest.contains("#EXT-X-ENDLIST"));
+        assertTrue(manifest.contains("seg_00002.ts"));
+        assertTrue(manifest.contains("#EXTINF:2.000,\nseg_00000.ts\n"));
+        assertFalse(manifest.contains("\r"));
+        assertEquals(100, store.segment(42L, "seg_00002.ts").orElseThrow().contentLength());
+        assertTrue(store.segment(42L, "../../etc/passwd").isEmpty());
+
+        String signed = service.manifest(42L, "uid=1&exp=2&sig=abc").orElseThrow();
+        assertTrue(signed.contains("seg_00000.ts?uid=1&exp=2&sig=abc"));
+
+        // Query text is appended literally, never interpreted as a regex replacement
+        String odd = service.manifest(42L, "uid=1&exp=2&sig=a$1\\b").orElseThrow();
+        assertTrue(odd.contains("seg_00001.ts?uid=1&exp=2&sig=a$1\\b\n"));
+        assertTrue(odd.contains("#EXT-X-ENDLIST\n"));
+    }
+}
@@ -0,0 +1,33 @@
+package onlinecourseplatform.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingTurboFilterTest {
+
+    @Test
+    void passesOneInRateOfSampledEventsAndAllWarnings() {
+        Logger logger = new LoggerContext().getLogger("sampled");
+        logger.setLevel(Level.INFO);
+        LogSamplingTurboFilter filter = new LogSamplingTurboFilter();
+        filter.setRate(10);
+
+        int passed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (filter.decide(LogSamplingTurboFilter.SAMPLED, logger, Level.INFO, "access", null, null) != FilterReply.DENY) {
+                passed++;
+            }
+        }
+
+        assertEquals(10, passed);
+        assertEquals(FilterReply.NEUTRAL, filter.decide(LogSamplingTurboFilter.SAMPLED, logger, Level.WARN, "slow", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "unmarked", null, null));
+        // Disabled events are left to the level check and do not advance the sample
+        assertEquals(FilterReply.NEUTRAL, filter.decide(LogSamplingTurboFilter.SAMPLED, logger, Level.DEBUG, "detail", null, null));
+    }
+}
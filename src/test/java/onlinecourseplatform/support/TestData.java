@@ -0,0 +1,78 @@
+package onlinecourseplatform.support;
+
+import com.github.fppt.jedismock.RedisServer;
+import lombok.RequiredArgsConstructor;
+import onlinecourseplatform.entity.Course;
+import onlinecourseplatform.entity.Role;
+import onlinecourseplatform.entity.User;
+import onlinecourseplatform.repository.CourseRepository;
+import onlinecourseplatform.repository.UserRepository;
+import onlinecourseplatform.security.JwtUtil;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fixtures shared by the Spring Boot tests: users, courses and bearer tokens, plus an in-process Redis.
+ * The static builders work anywhere; the saving helpers need the test to {@code @Import(TestData.class)}.
+ */
+@TestComponent
+@RequiredArgsConstructor
+public class TestData {
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * Starts an in-process RESP server and points spring.data.redis at it; call from a @DynamicPropertySource.
+     * The server runs until the JVM exits, because the cached context that uses it outlives the test class.
+     */
+    public static void inMemoryRedis(DynamicPropertyRegistry registry) throws IOException {
+        RedisServer redis = RedisServer.newRedisServer().start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                redis.stop();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", redis::getBindPort);
+    }
+
+    /**
+     * A user named after the role, with the unhashed password "secret".
+     */
+    public static User.UserBuilder newUser(String email, Role role) {
+        return User.builder().name(role.name()).email(email).password("{noop}secret").role(role)
+                .createdAt(LocalDateTime.now());
+    }
+
+    /**
+     * A course by instructor 1 priced at 10.
+     */
+    public static Course.CourseBuilder newCourse(String title) {
+        return Course.builder().title(title).description("Created by a test")
+                .instructorId(1L).price(BigDecimal.TEN).createdAt(LocalDateTime.now());
+    }
+
+    public User user(String email, Role role) {
+        return userRepository.save(newUser(email, role).build());
+    }
+
+    public Course course(String title) {
+        return courseRepository.save(newCourse(title).build());
+    }
+
+    /**
+     * Authorization header value for the user.
+     */
+    public String bearer(User user) {
+        return "Bearer " + jwtUtil.generateToken(user.getEmail());
+    }
+}